@@ -0,0 +1,263 @@
+package io.github.the_sdet.adapter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.github.the_sdet.adapter.CucumberSummaryReporter.log;
+
+/**
+ * Captures scenario attachments ({@code Scenario.attach}) into a
+ * content-addressed directory next to the report.
+ * <p>
+ * Files are named after the SHA-256 of their content, so identical screenshots
+ * are stored only once. Hashing and writing happen on a single background
+ * thread; the Cucumber handler thread only queues the bytes. Call
+ * {@link #flush()} before rendering so every reference is resolved.
+ * <p>
+ * The bytes waiting for the writer are capped ({@link #setMaxPendingBytes}):
+ * when the disk cannot keep up, further attachments are dropped and counted
+ * instead of piling up on the heap.
+ *
+ * @author Pabitra Swain (contact.the.sdet@gmail.com)
+ */
+class AttachmentStore {
+
+  private static final long FLUSH_TIMEOUT_MINUTES = 5;
+
+  private static final Map<String, String> EXTENSIONS = new HashMap<>();
+  static {
+    EXTENSIONS.put("image/png", "png");
+    EXTENSIONS.put("image/jpeg", "jpg");
+    EXTENSIONS.put("image/jpg", "jpg");
+    EXTENSIONS.put("image/gif", "gif");
+    EXTENSIONS.put("image/svg+xml", "svg");
+    EXTENSIONS.put("image/webp", "webp");
+    EXTENSIONS.put("text/plain", "txt");
+    EXTENSIONS.put("text/html", "html");
+    EXTENSIONS.put("text/csv", "csv");
+    EXTENSIONS.put("application/json", "json");
+    EXTENSIONS.put("application/xml", "xml");
+    EXTENSIONS.put("application/pdf", "pdf");
+    EXTENSIONS.put("video/mp4", "mp4");
+  }
+
+  /**
+   * Test case id → attachments in the order they were attached.
+   */
+  private final Map<String, List<Attachment>> byTestCase = new ConcurrentHashMap<>();
+
+  /**
+   * Files already stored during this run; only touched by the writer thread.
+   */
+  private final Set<String> written = new HashSet<>();
+
+  private ExecutorService writer;
+
+  private volatile long maxPendingBytes = 0;
+  private final AtomicLong pendingBytes = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+
+  /**
+   * @param bytes
+   *            max attachment bytes queued for the writer; {@code 0} or less
+   *            means no limit
+   */
+  void setMaxPendingBytes(long bytes) {
+    this.maxPendingBytes = bytes;
+  }
+
+  /**
+   * Queues an attachment for writing and links it to its scenario.
+   *
+   * @param testCaseId
+   *            id of the scenario the attachment belongs to
+   * @param name
+   *            optional attachment name (may be {@code null})
+   * @param mediaType
+   *            MIME type reported by Cucumber
+   * @param data
+   *            raw attachment bytes
+   * @param dir
+   *            directory the attachment is stored in
+   */
+  void add(String testCaseId, String name, String mediaType, byte[] data, Path dir) {
+    long pending = pendingBytes.addAndGet(data.length);
+    // A single attachment larger than the cap is still taken when nothing else is queued
+    if (maxPendingBytes > 0 && pending > maxPendingBytes && pending > data.length) {
+      pendingBytes.addAndGet(-data.length);
+      if (dropped.incrementAndGet() == 1)
+        log.warn("Attachment writer more than {} bytes behind – dropping attachments until it catches up",
+            maxPendingBytes);
+      return;
+    }
+    Attachment a = new Attachment(name, mediaType);
+    byTestCase.computeIfAbsent(testCaseId, k -> Collections.synchronizedList(new ArrayList<>())).add(a);
+    writer().execute(() -> {
+      try {
+        write(a, data, dir);
+      } finally {
+        pendingBytes.addAndGet(-data.length);
+      }
+    });
+  }
+
+  /**
+   * Blocks until every queued attachment has been written.
+   */
+  void flush() {
+    long d = dropped.get();
+    if (d > 0)
+      log.warn("{} attachments dropped because the writer fell behind", d);
+    ExecutorService w;
+    synchronized (this) {
+      w = writer;
+    }
+    if (w == null)
+      return;
+    try {
+      w.submit(() -> {
+      }).get(FLUSH_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException | TimeoutException ex) {
+      log.warn("Attachments still being written – report may link to missing files", ex);
+    }
+  }
+
+  /**
+   * Renders the attachment links of a scenario: lazy-loaded thumbnails for
+   * images, plain links for everything else.
+   *
+   * @param testCaseId
+   *            scenario id
+   * @param reportDir
+   *            directory of the HTML report, used to build relative links
+   * @return HTML fragment, empty if the scenario has no stored attachments
+   */
+  String render(String testCaseId, Path reportDir) {
+    List<Attachment> list = byTestCase.get(testCaseId);
+    if (list == null)
+      return "";
+    StringBuilder sb = new StringBuilder();
+    synchronized (list) {
+      for (Attachment a : list) {
+        if (a.file == null)
+          continue;
+        String href = Escape.html(link(reportDir, a.file));
+        String label = Escape.html(a.name != null && !a.name.isEmpty() ? a.name : a.file.getFileName().toString());
+        sb.append("<a class=\"attachment\" href=\"").append(href).append("\" target=\"_blank\" title=\"")
+            .append(label).append("\">");
+        if (a.mediaType.startsWith("image/"))
+          sb.append("<img class=\"attachment-thumb\" loading=\"lazy\" src=\"").append(href).append("\" alt=\"")
+              .append(label).append("\">");
+        else
+          sb.append("<i class=\"fas fa-paperclip\"></i>").append(label);
+        sb.append("</a>");
+      }
+    }
+    return sb.length() == 0 ? "" : "<div class=\"attachments\">" + sb + "</div>";
+  }
+
+  /**
+   * Relative link from the report to a stored file, or an absolute file URI
+   * when no relative path exists (e.g. different drives on Windows).
+   */
+  private static String link(Path reportDir, Path file) {
+    try {
+      return reportDir.toAbsolutePath().relativize(file).toString().replace('\\', '/');
+    } catch (IllegalArgumentException ex) {
+      return file.toUri().toString();
+    }
+  }
+
+  private synchronized ExecutorService writer() {
+    if (writer == null)
+      writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "cucumber-summary-attachments");
+        t.setDaemon(true);
+        return t;
+      });
+    return writer;
+  }
+
+  /**
+   * Runs on the writer thread: hashes the content and stores it unless a file
+   * with the same hash already exists. {@link Attachment#file} is only set once
+   * the file is on disk, so a failed write leaves no broken link and the next
+   * attachment with the same content tries again.
+   */
+  private void write(Attachment a, byte[] data, Path dir) {
+    Path tmp = null;
+    try {
+      String hash = sha256(data);
+      Path file = dir.resolve(hash + "." + EXTENSIONS.getOrDefault(a.mediaType, "bin")).toAbsolutePath();
+      if (!written.contains(file.toString()) && !Files.exists(file)) {
+        Files.createDirectories(dir);
+        tmp = Files.createTempFile(dir, hash, ".tmp");
+        Files.write(tmp, data);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        tmp = null;
+      }
+      if (Files.exists(file)) {
+        written.add(file.toString());
+        a.file = file;
+      }
+    } catch (IOException ex) {
+      log.error("Attachment write fail", ex);
+    } finally {
+      if (tmp != null) {
+        try {
+          Files.deleteIfExists(tmp);
+        } catch (IOException ignored) {
+          // best effort: a stray .tmp file does not affect the report
+        }
+      }
+    }
+  }
+
+  private static String sha256(byte[] data) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+      StringBuilder sb = new StringBuilder(digest.length * 2);
+      for (byte b : digest)
+        sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      return sb.toString();
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 not available", ex);
+    }
+  }
+
+  /**
+   * A single attachment; {@link #file} is set by the writer thread once stored.
+   */
+  private static class Attachment {
+    final String name;
+    final String mediaType;
+    volatile Path file;
+
+    Attachment(String name, String mediaType) {
+      this.name = name;
+      // Drop parameters such as "; charset=UTF-8" so the extension lookup matches
+      this.mediaType = mediaType == null ? "" : mediaType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+    }
+  }
+}
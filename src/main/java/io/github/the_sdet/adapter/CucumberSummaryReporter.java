@@ -8,14 +8,26 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
 
 /**
  * Custom Cucumber plugin that generates a styled summary report in HTML.
@@ -87,6 +99,24 @@ public class CucumberSummaryReporter implements ConcurrentEventListener {
     return val != null ? val : def;
   }
 
+  /**
+   * Snapshot of the whole configuration as {@link #cfg(String)} resolves it:
+   * the file-based values overlaid with the {@link #SYS_PROP_PREFIX} system
+   * properties (prefix stripped).
+   *
+   * @return a new, independent {@link Properties}
+   * @author Pabitra Swain (contact.the.sdet@gmail.com)
+   */
+  private Properties effectiveCfg() {
+    Properties merged = new Properties();
+    merged.putAll(baseCfg);
+    for (String name : System.getProperties().stringPropertyNames()) {
+      if (name.startsWith(SYS_PROP_PREFIX))
+        merged.setProperty(name.substring(SYS_PROP_PREFIX.length()), System.getProperty(name));
+    }
+    return merged;
+  }
+
   /*
    * --------------------------------------------------- 📓 Logger
    * ---------------------------------------------------
@@ -104,16 +134,33 @@ public class CucumberSummaryReporter implements ConcurrentEventListener {
    */
 
   /**
-   * Feature → (Scenario → Status) mapping collected during execution.
+   * Feature → (Scenario → Status) mapping collected during execution. Spills to
+   * disk past {@code result.memory.budget}.
    */
-  private static final Map<String, Map<String, ResultEntry>> featureResults = Collections
-      .synchronizedMap(new LinkedHashMap<>());
+  private static final ResultStore featureResults = new ResultStore();
 
   /**
    * Feature URI → static metadata (package, display name, etc.).
    */
   private final Map<String, FeatureInfo> featureFiles = Collections.synchronizedMap(new LinkedHashMap<>());
 
+  /**
+   * Scenario attachments, stored content-addressed next to the report.
+   */
+  private final AttachmentStore attachments = new AttachmentStore();
+
+  /**
+   * Optional live progress page; {@code null} unless
+   * {@code live.dashboard.enabled=true}.
+   */
+  private volatile LiveDashboard dashboard;
+
+  /**
+   * One dispatcher per {@link ResultSink} found on the class-path.
+   */
+  private volatile List<SinkDispatcher> sinks = Collections.emptyList();
+  private long sinkCloseTimeoutMillis;
+
   /**
    * Mutable maps to inject per‑feature/scenario test credentials at runtime.
    */
@@ -131,16 +178,16 @@ public class CucumberSummaryReporter implements ConcurrentEventListener {
      */
     public final Map<String, Map<String, Status>> results;
 
-    private SummaryData(Map<String, Map<String, ResultEntry>> src) {
+    private SummaryData(ResultStore src) {
       // Outer map preserves feature order
       Map<String, Map<String, Status>> copy = new LinkedHashMap<>();
 
-      src.forEach((uri, inner) -> {
+      for (String uri : src.featureUris()) {
         // Inner map: keep scenario order but convert ResultEntry → Status
         Map<String, Status> statusMap = new LinkedHashMap<>();
-        inner.forEach((scenarioId, entry) -> statusMap.put(entry.display, entry.status));
+        src.feature(uri).forEach((scenarioId, entry) -> statusMap.put(entry.display, entry.status));
         copy.put(uri, Collections.unmodifiableMap(statusMap));
-      });
+      }
 
       this.results = Collections.unmodifiableMap(copy);
     }
@@ -227,6 +274,24 @@ public class CucumberSummaryReporter implements ConcurrentEventListener {
   private static final String defaultScenarioTableHeadingColor = "#090909";
   private static final String defaultCredentialDisplayOpt = "feature";
   private static final String defaultDisplayCredential = "false";
+  private static final String defaultCaptureAttachments = "true";
+  private static final String defaultAttachmentsDir = "attachments";
+  private static final String defaultAttachmentsMaxPendingMb = "256";
+  private static final String defaultLiveDashboardEnabled = "false";
+  private static final String defaultLiveDashboardPort = "0"; // 0 = any free port
+  private static final String defaultLiveDashboardFlushMillis = "500";
+  private static final String defaultExportRunProfile = "false";
+  private static final String defaultRunProfileFilePath = "testReports/run-profile.json";
+  private static final String defaultRecordTimings = "false";
+  private static final String defaultTimingsFilePath = "testReports/cucumber-timings.tsv";
+  private static final String defaultSinksEnabled = "true";
+  private static final String defaultSinkBatchSize = "100";
+  private static final String defaultSinkBatchMillis = "1000";
+  private static final String defaultSinkBufferCapacity = "10000";
+  private static final String defaultSinkCloseTimeoutMillis = "10000";
+  private static final String defaultResultMemoryBudget = "0"; // 0 = keep everything in memory
+  private static final String defaultGroupOutlineRows = "true";
+  private static final String defaultRenderThreads = String.valueOf(Runtime.getRuntime().availableProcessors());
 
   /*
    * --------------------------------------------------- 🚚 Constructors
@@ -282,6 +347,7 @@ public class CucumberSummaryReporter implements ConcurrentEventListener {
     p.registerHandlerFor(TestSourceParsed.class, this::onSourceParsed);
     p.registerHandlerFor(TestCaseStarted.class, this::onCaseStarted);
     p.registerHandlerFor(TestCaseFinished.class, this::onCaseFinished);
+    p.registerHandlerFor(EmbedEvent.class, this::onEmbed);
     p.registerHandlerFor(TestRunFinished.class, this::onRunFinished);
   }
 
@@ -306,7 +372,38 @@ public class CucumberSummaryReporter implements ConcurrentEventListener {
     String pkg = folder.contains(":") ? cleanPkg(folder.split(":")[1]) : cleanPkg(folder);
     String featName = evt.getNodes().stream().map(Node::getName).filter(Optional::isPresent).map(Optional::get)
         .findFirst().orElse("Feature name missing");
-    featureFiles.put(uri, new FeatureInfo(uri, pkg, fileName, featName));
+    Map<Integer, Integer> outlineOfExample = new HashMap<>();
+    Map<Integer, String> outlineNames = new HashMap<>();
+    evt.getNodes().forEach(n -> collectOutlines(n, outlineOfExample, outlineNames));
+    featureFiles.put(uri, new FeatureInfo(uri, pkg, fileName, featName, outlineOfExample, outlineNames));
+    RunProfile.markSourceParsed();
+  }
+
+  /**
+   * Walks a parsed feature and maps every example row to the line of the
+   * Scenario Outline it belongs to, so outline rows can be grouped by source
+   * location rather than by name.
+   *
+   * @param node
+   *            feature, rule or outline node
+   * @param outlineOfExample
+   *            receives example row line → outline line
+   * @param outlineNames
+   *            receives outline line → outline name as written in the feature
+   *            file
+   */
+  private static void collectOutlines(Node node, Map<Integer, Integer> outlineOfExample,
+      Map<Integer, String> outlineNames) {
+    if (node instanceof Node.ScenarioOutline) {
+      int outlineLine = node.getLocation().getLine();
+      outlineNames.put(outlineLine, node.getName().orElse(""));
+      for (Node.Examples examples : ((Node.ScenarioOutline) node).elements())
+        for (Node.Example example : examples.elements())
+          outlineOfExample.put(example.getLocation().getLine(), outlineLine);
+    } else if (node instanceof Node.Container) {
+      for (Object child : ((Node.Container<?>) node).elements())
+        collectOutlines((Node) child, outlineOfExample, outlineNames);
+    }
   }
 
   /**
@@ -324,8 +421,8 @@ public class CucumberSummaryReporter implements ConcurrentEventListener {
   }
 
   /**
-   * Fires when a scenario begins execution. Currently only logs a DEBUG message;
-   * retained as a hook point for potential future extensions.
+   * Fires when a scenario begins execution. Logs a DEBUG message and marks the
+   * start of the execution phase for the run profile.
    *
    * @param e
    *            {@link TestCaseStarted} event
@@ -333,6 +430,7 @@ public class CucumberSummaryReporter implements ConcurrentEventListener {
    */
   private void onCaseStarted(TestCaseStarted e) {
     log.debug("Started: {}", e.getTestCase().getName());
+    RunProfile.markCaseStarted();
   }
 
   /**
@@ -349,13 +447,42 @@ public class CucumberSummaryReporter implements ConcurrentEventListener {
     String name = e.getTestCase().getName();
     int line = e.getTestCase().getLocation().getLine();
 
-    String display = "Scenario Outline".equals(e.getTestCase().getKeyword())
-        ? name + " (Outline Row: " + line + ")"
+    FeatureInfo info = featureFiles.get(uri);
+    Integer outlineLine = info != null ? info.outlineOfExample.get(line) : null;
+    String display = outlineLine != null || "Scenario Outline".equals(e.getTestCase().getKeyword())
+        ? name + outlineRowSuffix(line)
         : name;
 
-    featureResults.computeIfAbsent(uri, k -> new LinkedHashMap<>()).put(id,
-        new ResultEntry(display, e.getResult().getStatus()));
+    Status status = e.getResult().getStatus();
+    long millis = e.getResult().getDuration().toMillis();
+    featureResults.put(uri, id, new ResultEntry(display, status, millis, line, outlineLine != null ? outlineLine : -1));
 
+    List<SinkDispatcher> targets = sinks;
+    if (!targets.isEmpty()) {
+      ScenarioResult result = new ScenarioResult(uri, id, display, status, millis, System.currentTimeMillis());
+      targets.forEach(d -> d.offer(result));
+    }
+
+    LiveDashboard live = dashboard;
+    if (live != null) {
+      live.publish(uri, info != null ? featureName(info) : uri, display, statusColor(status));
+    }
+
+  }
+
+  /**
+   * Queues a scenario attachment for content-addressed storage next to the
+   * report. The bytes are hashed and written on a background thread.
+   *
+   * @param e
+   *            {@link EmbedEvent} raised by {@code Scenario.attach}
+   * @author Pabitra Swain (contact.the.sdet@gmail.com)
+   */
+  private void onEmbed(EmbedEvent e) {
+    if (!Boolean.parseBoolean(cfg("capture.attachments", defaultCaptureAttachments)))
+      return;
+    Path dir = reportDir().resolve(cfg("attachments.dir", defaultAttachmentsDir));
+    attachments.add(String.valueOf(e.getTestCase().getId()), e.getName(), e.getMediaType(), e.getData(), dir);
   }
 
   /**
@@ -368,7 +495,57 @@ public class CucumberSummaryReporter implements ConcurrentEventListener {
    */
   private void onRunFinished(TestRunFinished e) {
     TestDuration.markEnd();
-    generateReport();
+    RunProfile.markRunEnd();
+    try {
+      generateReport();
+      saveRunProfile();
+      saveTimings();
+    } finally {
+      // The dashboard and the sinks are shut down even if the report failed, so
+      // the server is not left bound and buffered results still reach the sinks
+      LiveDashboard live = dashboard;
+      dashboard = null;
+      if (live != null)
+        live.stop(cfg("report.file.path", defaultReportPath));
+      SinkDispatcher.closeAll(sinks, sinkCloseTimeoutMillis);
+      sinks = Collections.emptyList();
+      featureResults.closeSpill();
+    }
+  }
+
+  /**
+   * Writes the run profile (phase timings, CPU, GC and heap figures) as JSON.
+   *
+   * @author Pabitra Swain (contact.the.sdet@gmail.com)
+   */
+  private void saveRunProfile() {
+    if (!Boolean.parseBoolean(cfg("export.run.profile", defaultExportRunProfile)))
+      return;
+    try {
+      FileUtils.writeStringToFile(new File(cfg("run.profile.file.path", defaultRunProfileFilePath)),
+          RunProfile.toJson(), StandardCharsets.UTF_8);
+    } catch (IOException ex) {
+      log.error("Write run profile fail", ex);
+    }
+  }
+
+  /**
+   * Merges this run's per-feature and per-scenario durations into the timings
+   * file read by {@link ShardPlanner}.
+   *
+   * @author Pabitra Swain (contact.the.sdet@gmail.com)
+   */
+  private void saveTimings() {
+    if (featureResults.isEmpty() || !Boolean.parseBoolean(cfg("record.timings", defaultRecordTimings)))
+      return;
+    TimingsFile timings = new TimingsFile();
+    for (String uri : featureResults.featureUris())
+      featureResults.feature(uri).values().forEach(r -> timings.add(uri, r.display, r.durationMillis));
+    try {
+      timings.mergeInto(Paths.get(cfg("timings.file.path", defaultTimingsFilePath)));
+    } catch (IOException ex) {
+      log.error("Write timings fail", ex);
+    }
   }
 
   /**
@@ -380,6 +557,20 @@ public class CucumberSummaryReporter implements ConcurrentEventListener {
    */
   private void onRunStarted(TestRunStarted e) {
     TestDuration.markStart();
+    RunProfile.markRunStart();
+    featureResults.setMemoryBudget(Integer.parseInt(cfg("result.memory.budget", defaultResultMemoryBudget)));
+    attachments.setMaxPendingBytes(
+        Long.parseLong(cfg("attachments.max.pending.mb", defaultAttachmentsMaxPendingMb)) * 1024 * 1024);
+    if (Boolean.parseBoolean(cfg("live.dashboard.enabled", defaultLiveDashboardEnabled))) {
+      dashboard = LiveDashboard.start(Integer.parseInt(cfg("live.dashboard.port", defaultLiveDashboardPort)),
+          Long.parseLong(cfg("live.dashboard.flush.millis", defaultLiveDashboardFlushMillis)));
+    }
+    if (Boolean.parseBoolean(cfg("sinks.enabled", defaultSinksEnabled))) {
+      sinkCloseTimeoutMillis = Long.parseLong(cfg("sink.close.timeout.millis", defaultSinkCloseTimeoutMillis));
+      sinks = SinkDispatcher.startAll(effectiveCfg(), Integer.parseInt(cfg("sink.batch.size", defaultSinkBatchSize)),
+          Long.parseLong(cfg("sink.batch.millis", defaultSinkBatchMillis)),
+          Integer.parseInt(cfg("sink.buffer.capacity", defaultSinkBufferCapacity)));
+    }
   }
 
   /**
@@ -390,12 +581,41 @@ public class CucumberSummaryReporter implements ConcurrentEventListener {
   public static class ResultEntry {
     final String display; // what report should show
     final Status status;
+    final long durationMillis;
+    final int line; // scenario / example row line in the feature file
+    final int outlineLine; // line of the enclosing Scenario Outline, -1 if none
 
-    ResultEntry(String display, Status status) {
+    ResultEntry(String display, Status status, long durationMillis, int line, int outlineLine) {
       this.display = display;
       this.status = status;
+      this.durationMillis = durationMillis;
+      this.line = line;
+      this.outlineLine = outlineLine;
+    }
+
+    /**
+     * @return the name Cucumber gave the scenario, i.e. {@link #display} without
+     *         the outline row suffix
+     */
+    String name() {
+      String suffix = outlineRowSuffix(line);
+      return outlineLine >= 0 && display.endsWith(suffix)
+          ? display.substring(0, display.length() - suffix.length())
+          : display;
     }
   }
+
+  /**
+   * Suffix that tells outline example rows apart in the report, e.g.
+   * {@code " (Outline Row: 15)"}.
+   *
+   * @param line
+   *            example row line
+   * @return suffix appended to the scenario name
+   */
+  static String outlineRowSuffix(int line) {
+    return " (Outline Row: " + line + ")";
+  }
   /*
    * --------------------------------------------------- 🖼 Report skeleton
    * ---------------------------------------------------
@@ -413,6 +633,17 @@ public class CucumberSummaryReporter implements ConcurrentEventListener {
     return sdf.format(new Date());
   }
 
+  /**
+   * Resolves the directory the HTML report is written to.
+   *
+   * @return absolute report directory
+   * @author Pabitra Swain (contact.the.sdet@gmail.com)
+   */
+  private Path reportDir() {
+    Path parent = Paths.get(cfg("report.file.path", defaultReportPath)).toAbsolutePath().getParent();
+    return parent != null ? parent : Paths.get("").toAbsolutePath();
+  }
+
   /**
    * Reads the content of a resource file as a string.
    *
@@ -483,6 +714,9 @@ public class CucumberSummaryReporter implements ConcurrentEventListener {
       } else {
         r = r.replace("DurationRow", "DurationRow hidden");
       }
+      if (!Boolean.parseBoolean(cfg("show.run.profile", "true"))) {
+        r = r.replace("RunProfileRow", "RunProfileRow hidden");
+      }
       if (Boolean.parseBoolean(cfg("display.credentials", defaultDisplayCredential))) {
         String credOption = cfg("credentials.display.option", defaultCredentialDisplayOpt);
         if (credOption.toLowerCase().contains("scenario"))
@@ -521,6 +755,7 @@ public class CucumberSummaryReporter implements ConcurrentEventListener {
       return;
     }
 
+    RunProfile.markReportStart();
     String rpt = skeleton();
     if (rpt == null) {
       return;
@@ -529,81 +764,54 @@ public class CucumberSummaryReporter implements ConcurrentEventListener {
     // Extract template fragments
     String featTpl = StringUtils.substringBetween(rpt, "<!-- FeatureDetailsStart -->", "<!--FeatureDetailsEnd-->");
     String tcTpl = StringUtils.substringBetween(rpt, "<!--TcDetailsStart-->", "<!--TcDetailsEnd-->");
+    String olTpl = StringUtils.substringBetween(rpt, "<!--OutlineDetailsStart-->", "<!--OutlineDetailsEnd-->");
     String subTpl = StringUtils.substringBetween(rpt, "<!--SubTotalDetailsStart-->", "<!--SubTotalDetailsEnd-->");
 
-    featTpl = featTpl.replace("<!--TcDetailsStart-->" + tcTpl + "<!--TcDetailsEnd-->", "$insertTc");
+    featTpl = featTpl.replace("<!--TcDetailsStart-->" + tcTpl + "<!--TcDetailsEnd-->", "$insertTc")
+        .replace("<!--OutlineDetailsStart-->" + olTpl + "<!--OutlineDetailsEnd-->", "");
     rpt = rpt.replace("<!--TcDetailsStart-->" + tcTpl + "<!--TcDetailsEnd-->", "$insertTc")
+        .replace("<!--OutlineDetailsStart-->" + olTpl + "<!--OutlineDetailsEnd-->", "")
         .replace("<!--SubTotalDetailsStart-->" + subTpl + "<!--SubTotalDetailsEnd-->", "$insertSub")
         .replace("<!-- FeatureDetailsStart -->" + featTpl + "<!--FeatureDetailsEnd-->", "$insertFeat");
 
-    StringBuilder featBuf = new StringBuilder();
-    DecimalFormat df = new DecimalFormat("0.00");
-
-    int oPass = 0;
-    int oFail = 0;
-    int oSkip = 0;
-    int fNo = 0;
-
-    for (Map.Entry<String, Map<String, ResultEntry>> feat : featureResults.entrySet()) {
-      fNo++;
-      FeatureInfo info = featureFiles.get(feat.getKey());
-
-      String name = Boolean.parseBoolean(cfg("use.feature.name.from.feature.file", "false"))
-          ? info.featureNameDefinedInFeatureFile
-          : info.featureFileName;
-
-      if (Boolean.parseBoolean(cfg("use.package.name", "true")) && !info.packageName.isEmpty()) {
-        name = info.packageName + " - " + name;
-      }
-
-      List<String> credentials = testUsersForFeatures.getOrDefault(feat.getKey(),
-          Arrays.asList(defaultUserName, defaultPassword));
-
-      String user = credentials.get(0);
-      String pwd = credentials.get(1);
+    // Stream the report: everything before the feature list is written first,
+    // then each section as soon as it is rendered, then the totals. Only the
+    // small skeleton and the sections in flight are held in memory.
+    int at = rpt.indexOf("$insertFeat");
+    String head = rpt.substring(0, at);
+    String tail = rpt.substring(at + "$insertFeat".length());
 
-      StringBuilder tcBuf = new StringBuilder();
-      int pass = 0;
-      int fail = 0;
-      int skip = 0;
-      int idx = 1;
-
-      for (Map.Entry<String, ResultEntry> sc : feat.getValue().entrySet()) {
-        Status st = sc.getValue().status;
-
-        if (st == Status.PASSED) {
-          pass++;
-        } else if (st == Status.FAILED) {
-          fail++;
-        } else {
-          skip++; // SKIPPED, PENDING, etc.
-        }
-
-        String tcColor = (st == Status.PASSED) ? "green" : (st == Status.FAILED) ? "red" : "cyan";
-
-        List<String> scenarioCredentials = testUsersForScenarios.getOrDefault(sc.getKey(),
-            Arrays.asList(defaultUserName, defaultPassword));
-
-        tcBuf.append(tcTpl.replace("$tcKey", "SC-" + String.format("%03d", idx++))
-            .replace("$tcName", sc.getValue().display).replace("$tcUsername", scenarioCredentials.get(0))
-            .replace("$tcPassword", scenarioCredentials.get(1)).replace("$tcStatus", tcColor));
+    attachments.flush();
+    Path file = Paths.get(cfg("report.file.path", defaultReportPath));
+    try {
+      Path parent = file.toAbsolutePath().getParent();
+      if (parent != null)
+        Files.createDirectories(parent);
+      // OutputStreamWriter replaces unmappable characters, as the String-based
+      // write did; FileOutputStream, unlike a channel, survives an interrupt
+      try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file.toFile()),
+          Charset.defaultCharset()))) {
+        out.write(head);
+        SearchIndex search = new SearchIndex();
+        int[] counts = writeFeatures(out, featureResults.featureUris(), featTpl, tcTpl, olTpl, search);
+        out.write(fillTotals(tail, subTpl, counts[0], counts[1], counts[2]).replace("$searchIndex", search.toJson())
+            // Taken last so the report phase covers (almost) all of the generation work
+            .replace("$runProfile", Escape.html(RunProfile.summary())));
       }
-
-      oPass += pass;
-      oFail += fail;
-      oSkip += skip;
-
-      int tot = pass + fail + skip;
-
-      String featStatus = (fail > 0) ? "red" : (skip > 0) ? "cyan" : "green";
-
-      featBuf.append(featTpl.replace("$insertTc", tcBuf.toString()).replace("$featureName", name)
-          .replace("$username", user).replace("$password", pwd).replace("$passCount", String.valueOf(pass))
-          .replace("$failCount", String.valueOf(fail)).replace("$skipCount", String.valueOf(skip))
-          .replace("$totalCount", String.valueOf(tot)).replace("$featureStatus", featStatus)
-          .replace("$featurePassPercent", tot == 0 ? "0.00%" : df.format((double) pass / tot * 100) + "%")
-          .replace("$featureNo", String.valueOf(fNo)));
+    } catch (IOException ex) {
+      log.error("Write report fail", ex);
     }
+    RunProfile.markReportEnd();
+  }
+
+  /**
+   * Fills the overall subtotal and the chart figures, which follow the feature
+   * list in the template.
+   *
+   * @author Pabitra Swain (contact.the.sdet@gmail.com)
+   */
+  private static String fillTotals(String tail, String subTpl, int oPass, int oFail, int oSkip) {
+    DecimalFormat df = new DecimalFormat("0.00");
 
     int overall = oPass + oFail + oSkip;
     double passPct = overall == 0 ? 0.00 : (double) oPass / overall * 100;
@@ -622,16 +830,293 @@ public class CucumberSummaryReporter implements ConcurrentEventListener {
         .replace("$overallCount", String.valueOf(overall)).replace("$overallStatus", overallStatus)
         .replace("$overallPassPercent", df.format(passPct) + "%");
 
-    rpt = rpt.replace("$insertFeat", featBuf.toString()).replace("$insertSub", sub)
-        .replace("$overallPassCount", String.valueOf(oPass)).replace("$overallFailCount", String.valueOf(oFail))
-        .replace("$overallSkipCount", String.valueOf(oSkip)).replace("$overallCount", String.valueOf(overall));
+    return tail.replace("$insertSub", sub).replace("$overallPassCount", String.valueOf(oPass))
+        .replace("$overallFailCount", String.valueOf(oFail)).replace("$overallSkipCount", String.valueOf(oSkip))
+        .replace("$overallCount", String.valueOf(overall));
+  }
+
+  /**
+   * Resolves the feature name shown in the report, honouring
+   * {@code use.feature.name.from.feature.file} and {@code use.package.name}.
+   *
+   * @param info
+   *            feature metadata
+   * @return display name
+   * @author Pabitra Swain (contact.the.sdet@gmail.com)
+   */
+  private String featureName(FeatureInfo info) {
+    String name = Boolean.parseBoolean(cfg("use.feature.name.from.feature.file", "false"))
+        ? info.featureNameDefinedInFeatureFile
+        : info.featureFileName;
+
+    if (Boolean.parseBoolean(cfg("use.package.name", "true")) && !info.packageName.isEmpty()) {
+      name = info.packageName + " - " + name;
+    }
+    return name;
+  }
 
+  /**
+   * Maps a scenario status to the colour class used in the report.
+   *
+   * @param st
+   *            scenario status
+   * @return {@code green}, {@code red} or {@code cyan}
+   * @author Pabitra Swain (contact.the.sdet@gmail.com)
+   */
+  static String statusColor(Status st) {
+    return (st == Status.PASSED) ? "green" : (st == Status.FAILED) ? "red" : "cyan";
+  }
+
+  /**
+   * Renders the feature sections and writes them in feature order, in parallel
+   * on a dedicated pool when {@code report.render.threads} allows it. At most
+   * one section per render thread is rendered ahead of the writer, so memory use
+   * is bounded by the thread count, not by the suite size. The output is the
+   * same whatever the thread count.
+   * <p>
+   * Sections are coarse, independent tasks that never fork, so a fixed pool is
+   * used rather than a fork-join pool. The overall counts are summed as each
+   * section is written instead of by a parallel reduction, since a section is
+   * dropped once written.
+   *
+   * @param out
+   *            report writer
+   * @param uris
+   *            feature URIs in report order
+   * @param featTpl
+   *            feature section template
+   * @param tcTpl
+   *            scenario row template
+   * @param olTpl
+   *            scenario outline group row template
+   * @param search
+   *            search index fed with every written feature and scenario
+   * @return overall {passed, failed, skipped} counts
+   * @throws IOException
+   *             if writing fails
+   * @author Pabitra Swain (contact.the.sdet@gmail.com)
+   */
+  private int[] writeFeatures(Writer out, List<String> uris, String featTpl, String tcTpl, String olTpl,
+      SearchIndex search) throws IOException {
+    int threads = Integer.parseInt(cfg("report.render.threads", defaultRenderThreads));
+    IntFunction<FeatureSection> render = i -> renderFeature(i + 1, uris.get(i), featTpl, tcTpl, olTpl);
+
+    ExecutorService pool = threads > 1 && uris.size() > 1 ? Executors.newFixedThreadPool(threads, r -> {
+      Thread t = new Thread(r, "cucumber-summary-render");
+      t.setDaemon(true);
+      return t;
+    }) : null;
+    Deque<Future<FeatureSection>> ahead = new ArrayDeque<>();
+    int submitted = 0;
+    boolean interrupted = false;
+    int[] counts = new int[3];
     try {
-      FileUtils.writeStringToFile(new File(cfg("report.file.path", defaultReportPath)), rpt,
-          Charset.defaultCharset());
-    } catch (IOException ex) {
-      log.error("Write report fail", ex);
+      for (int i = 0; i < uris.size(); i++) {
+        FeatureSection section;
+        if (pool == null) {
+          section = render.apply(i);
+        } else {
+          while (submitted < uris.size() && ahead.size() < threads) {
+            int n = submitted++;
+            ahead.add(pool.submit(() -> render.apply(n)));
+          }
+          try {
+            section = ahead.poll().get();
+          } catch (InterruptedException ex) {
+            // Stop the pool for good and render the rest on this thread. The
+            // interrupt is restored once done, as it would otherwise close the
+            // spill file channel on the next read.
+            interrupted = true;
+            log.warn("Parallel render interrupted – rendering serially");
+            pool.shutdownNow();
+            pool = null;
+            ahead.clear();
+            section = render.apply(i);
+          } catch (ExecutionException ex) {
+            log.error("Parallel render fail – rendering serially", ex.getCause());
+            section = render.apply(i);
+          }
+        }
+
+        out.write(section.html);
+        search.addFeature(i + 1, section.name);
+        for (int row = 0; row < section.scenarioNames.size(); row++)
+          for (String scenarioName : section.scenarioNames.get(row))
+            search.addScenario(i + 1, row, scenarioName);
+        counts[0] += section.pass;
+        counts[1] += section.fail;
+        counts[2] += section.skip;
+      }
+    } finally {
+      if (pool != null)
+        pool.shutdownNow();
+      if (interrupted)
+        Thread.currentThread().interrupt();
+    }
+    return counts;
+  }
+
+  /**
+   * Renders a single feature section with its scenario table. Only reads shared
+   * state, so it is safe to run for several features at once.
+   * <p>
+   * Rows of a scenario outline are collapsed into one group row with aggregate
+   * counts. Only failed / skipped rows and rows with attachments are rendered;
+   * the others are carried run-length encoded, with their names and any
+   * scenario credentials, and built by the browser when the group is expanded.
+   *
+   * @param fNo
+   *            1-based feature number
+   * @param uri
+   *            feature URI
+   * @param featTpl
+   *            feature section template
+   * @param tcTpl
+   *            scenario row template
+   * @param olTpl
+   *            scenario outline group row template
+   * @return rendered section with its counts
+   * @author Pabitra Swain (contact.the.sdet@gmail.com)
+   */
+  private FeatureSection renderFeature(int fNo, String uri, String featTpl, String tcTpl, String olTpl) {
+    DecimalFormat df = new DecimalFormat("0.00");
+    String name = featureName(featureFiles.get(uri));
+
+    List<String> credentials = testUsersForFeatures.getOrDefault(uri,
+        Arrays.asList(defaultUserName, defaultPassword));
+
+    String user = credentials.get(0);
+    String pwd = credentials.get(1);
+
+    Path reportDir = reportDir();
+    StringBuilder tcBuf = new StringBuilder();
+    List<Set<String>> scenarioNames = new ArrayList<>();
+    int pass = 0;
+    int fail = 0;
+    int skip = 0;
+    int idx = 1;
+
+    // Spilled blocks are read back per feature, so at most one feature per
+    // render thread is in memory
+    boolean group = Boolean.parseBoolean(cfg("group.outline.rows", defaultGroupOutlineRows));
+    FeatureInfo info = featureFiles.get(uri);
+    Map<Integer, String> outlineNames = group && info != null ? info.outlineNames : null;
+    for (OutlineGroup item : OutlineGroup.of(featureResults.feature(uri), outlineNames)) {
+      String key = "SC-" + String.format("%03d", idx++);
+      // Index every example's own name, so example values stay searchable
+      Set<String> names = new LinkedHashSet<>();
+      if (item.isGroup())
+        names.add(item.name);
+      item.rows.forEach(r -> names.add(r.getValue().name()));
+      scenarioNames.add(names);
+
+      int p = item.count(Status.PASSED);
+      int f = item.count(Status.FAILED);
+      int s = item.rows.size() - p - f; // SKIPPED, PENDING, etc.
+      pass += p;
+      fail += f;
+      skip += s;
+
+      if (!item.isGroup()) {
+        Map.Entry<String, ResultEntry> sc = item.rows.get(0);
+        tcBuf.append(scenarioRow(tcTpl, "scenario-row", key, sc, attachments.render(sc.getKey(), reportDir)));
+        continue;
+      }
+
+      // The group row shows the examples' credentials when they all share them
+      List<String> groupCredentials = scenarioCredentials(item.rows.get(0).getKey());
+      for (Map.Entry<String, ResultEntry> sc : item.rows)
+        if (!scenarioCredentials(sc.getKey()).equals(groupCredentials)) {
+          groupCredentials = Arrays.asList(defaultUserName, defaultPassword);
+          break;
+        }
+
+      // Rows left to the browser are listed in order in data-rows: the name, or
+      // [name, username, password] when the credentials differ from the group's
+      StringBuilder rowBuf = new StringBuilder();
+      StringBuilder collapsed = new StringBuilder("[");
+      boolean[] rendered = new boolean[item.rows.size()];
+      for (int r = 0; r < item.rows.size(); r++) {
+        Map.Entry<String, ResultEntry> sc = item.rows.get(r);
+        String att = attachments.render(sc.getKey(), reportDir);
+        rendered[r] = sc.getValue().status != Status.PASSED || !att.isEmpty();
+        if (rendered[r]) {
+          rowBuf.append(scenarioRow(tcTpl, "outline-row", key + "." + (r + 1), sc, att));
+          continue;
+        }
+        if (collapsed.length() > 1)
+          collapsed.append(',');
+        List<String> rowCredentials = scenarioCredentials(sc.getKey());
+        if (rowCredentials.equals(groupCredentials))
+          collapsed.append(Escape.json(sc.getValue().name()));
+        else
+          collapsed.append('[').append(Escape.json(sc.getValue().name())).append(',')
+              .append(Escape.json(rowCredentials.get(0))).append(',')
+              .append(Escape.json(rowCredentials.get(1))).append(']');
+      }
+      collapsed.append(']');
+
+      String olStatus = (f > 0) ? "red" : (s > 0) ? "cyan" : "green";
+      tcBuf.append(olTpl.replace("$tcKey", key).replace("$tcName", Escape.html(item.name))
+          .replace("$olCounts", p + "," + f + "," + s).replace("$olRuns", item.runs(rendered))
+          .replace("$olSummary", outlineSummary(p, f, s)).replace("$tcUsername", groupCredentials.get(0))
+          .replace("$tcPassword", groupCredentials.get(1)).replace("$tcStatus", olStatus)
+          .replace("$olRows", Escape.singleQuotedAttr(collapsed.toString())));
+      tcBuf.append(rowBuf);
     }
+
+    int tot = pass + fail + skip;
+
+    String featStatus = (fail > 0) ? "red" : (skip > 0) ? "cyan" : "green";
+
+    String html = featTpl.replace("$insertTc", tcBuf.toString()).replace("$featureName", name)
+        .replace("$username", user).replace("$password", pwd).replace("$passCount", String.valueOf(pass))
+        .replace("$failCount", String.valueOf(fail)).replace("$skipCount", String.valueOf(skip))
+        .replace("$totalCount", String.valueOf(tot)).replace("$featureStatus", featStatus)
+        .replace("$featurePassPercent", tot == 0 ? "0.00%" : df.format((double) pass / tot * 100) + "%")
+        .replace("$featureNo", String.valueOf(fNo));
+
+    return new FeatureSection(html, name, scenarioNames, pass, fail, skip);
+  }
+
+  /**
+   * Fills the scenario row template for one scenario.
+   *
+   * @author Pabitra Swain (contact.the.sdet@gmail.com)
+   */
+  private String scenarioRow(String tcTpl, String rowClass, String key, Map.Entry<String, ResultEntry> sc,
+      String att) {
+    List<String> scenarioCredentials = scenarioCredentials(sc.getKey());
+
+    return tcTpl.replace("$tcRowClass", rowClass).replace("$tcKey", key)
+        .replace("$tcName", Escape.html(sc.getValue().display))
+        .replace("$tcUsername", scenarioCredentials.get(0)).replace("$tcPassword", scenarioCredentials.get(1))
+        .replace("$tcStatus", statusColor(sc.getValue().status)).replace("$tcAttachments", att);
+  }
+
+  /**
+   * Credentials registered for a scenario, or the defaults.
+   *
+   * @author Pabitra Swain (contact.the.sdet@gmail.com)
+   */
+  private static List<String> scenarioCredentials(String scenarioId) {
+    return testUsersForScenarios.getOrDefault(scenarioId, Arrays.asList(defaultUserName, defaultPassword));
+  }
+
+  /**
+   * Aggregate counts shown on an outline group row, e.g. "2000 examples: 1998
+   * passed, 1 failed, 1 skipped".
+   *
+   * @author Pabitra Swain (contact.the.sdet@gmail.com)
+   */
+  private static String outlineSummary(int pass, int fail, int skip) {
+    StringBuilder sb = new StringBuilder().append(pass + fail + skip).append(" examples: ").append(pass)
+        .append(" passed");
+    if (fail > 0)
+      sb.append(", ").append(fail).append(" failed");
+    if (skip > 0)
+      sb.append(", ").append(skip).append(" skipped");
+    return sb.toString();
   }
 
   /*
@@ -663,6 +1148,14 @@ public class CucumberSummaryReporter implements ConcurrentEventListener {
      * Login).
      */
     final String featureNameDefinedInFeatureFile;
+    /**
+     * Example row line → line of its Scenario Outline.
+     */
+    final Map<Integer, Integer> outlineOfExample;
+    /**
+     * Outline line → outline name as written in the feature file.
+     */
+    final Map<Integer, String> outlineNames;
 
     /**
      * Constructor to initialize all fields.
@@ -675,13 +1168,43 @@ public class CucumberSummaryReporter implements ConcurrentEventListener {
      *            feature file name
      * @param n
      *            feature name defined within the feature file
+     * @param e
+     *            example row line → outline line
+     * @param o
+     *            outline line → outline name
      * @author Pabitra Swain (contact.the.sdet@gmail.com)
      */
-    FeatureInfo(String u, String p, String f, String n) {
+    FeatureInfo(String u, String p, String f, String n, Map<Integer, Integer> e, Map<Integer, String> o) {
       uri = u;
       packageName = p;
       featureFileName = f;
       featureNameDefinedInFeatureFile = n;
+      outlineOfExample = e;
+      outlineNames = o;
+    }
+  }
+
+  /**
+   * One rendered feature section plus the counts and names needed to assemble
+   * the rest of the report.
+   *
+   * @author Pabitra Swain (contact.the.sdet@gmail.com)
+   */
+  private static class FeatureSection {
+    final String html;
+    final String name;
+    final List<Set<String>> scenarioNames;
+    final int pass;
+    final int fail;
+    final int skip;
+
+    FeatureSection(String html, String name, List<Set<String>> scenarioNames, int pass, int fail, int skip) {
+      this.html = html;
+      this.name = name;
+      this.scenarioNames = scenarioNames;
+      this.pass = pass;
+      this.fail = fail;
+      this.skip = skip;
     }
   }
 }
\ No newline at end of file
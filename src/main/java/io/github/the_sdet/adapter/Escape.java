@@ -0,0 +1,79 @@
+package io.github.the_sdet.adapter;
+
+/**
+ * Escaping helpers for text written into the HTML report and its inline
+ * scripts.
+ *
+ * @author Pabitra Swain (contact.the.sdet@gmail.com)
+ */
+class Escape {
+
+  private Escape() {
+  }
+
+  /**
+   * Escape text for use in HTML element content or a quoted attribute value
+   * (single or double quotes).
+   *
+   * @param s
+   *            raw text
+   * @return escaped text
+   */
+  static String html(String s) {
+    return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;")
+        .replace("'", "&#39;");
+  }
+
+  /**
+   * Escape text for a single-quoted attribute value. Double quotes are left as
+   * they are, which keeps embedded JSON compact.
+   *
+   * @param s
+   *            raw text
+   * @return escaped text
+   */
+  static String singleQuotedAttr(String s) {
+    return s.replace("&", "&amp;").replace("'", "&#39;");
+  }
+
+  /**
+   * Quote a string as a JSON literal that is also safe inside an inline
+   * {@code <script>} block.
+   *
+   * @param s
+   *            raw text
+   * @return quoted JSON string
+   */
+  static String json(String s) {
+    StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      switch (c) {
+        case '"' :
+          sb.append("\\\"");
+          break;
+        case '\\' :
+          sb.append("\\\\");
+          break;
+        case '<' :
+          sb.append("\\u003c");
+          break;
+        case '\n' :
+          sb.append("\\n");
+          break;
+        case '\r' :
+          sb.append("\\r");
+          break;
+        case '\t' :
+          sb.append("\\t");
+          break;
+        default :
+          if (c < 0x20 || c == '\u2028' || c == '\u2029')
+            sb.append(String.format("\\u%04x", (int) c));
+          else
+            sb.append(c);
+      }
+    }
+    return sb.append('"').toString();
+  }
+}
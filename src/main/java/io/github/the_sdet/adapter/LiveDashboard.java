@@ -0,0 +1,375 @@
+package io.github.the_sdet.adapter;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.the_sdet.adapter.CucumberSummaryReporter.log;
+
+/**
+ * Opt-in live progress page served on localhost while the run is in progress.
+ * <p>
+ * Uses the JDK's built-in {@link HttpServer}: {@code /} serves a small
+ * dashboard shell and {@code /events} streams server-sent events. Cucumber
+ * handler threads only enqueue finished scenarios and bump counters; a single
+ * background thread coalesces everything that arrived since the last tick into
+ * one batch event, so thousands of results per second become a few small
+ * messages.
+ * <p>
+ * Each browser has its own send queue, drained on a sender thread, so a stalled
+ * connection never blocks the flusher or the Cucumber thread. A browser whose
+ * write has been stuck longer than {@link #WRITE_TIMEOUT_MILLIS}, or that falls
+ * {@link #MAX_QUEUED} messages behind, is dropped.
+ *
+ * @author Pabitra Swain (contact.the.sdet@gmail.com)
+ */
+class LiveDashboard {
+
+  /**
+   * Max scenario rows sent per batch; the rest still count towards the totals.
+   */
+  private static final int MAX_ROWS_PER_BATCH = 200;
+
+  private static final long WRITE_TIMEOUT_MILLIS = 5000;
+  private static final int MAX_QUEUED = 100;
+
+  /**
+   * How long {@link #stop(String)} gives browsers to receive the last messages.
+   */
+  private static final long STOP_DRAIN_MILLIS = 2000;
+
+  private final HttpServer server;
+  private final ScheduledExecutorService flusher;
+  private final ExecutorService senders;
+  private final List<Client> clients = new CopyOnWriteArrayList<>();
+
+  private final Queue<String[]> pending = new ConcurrentLinkedQueue<>();
+  private final Map<String, FeatureCounts> features = new ConcurrentHashMap<>();
+  private final AtomicInteger pass = new AtomicInteger(), fail = new AtomicInteger(), skip = new AtomicInteger();
+
+  private LiveDashboard(HttpServer server, long flushMillis) {
+    this.server = server;
+    this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "cucumber-summary-live");
+      t.setDaemon(true);
+      return t;
+    });
+    this.senders = Executors.newCachedThreadPool(r -> {
+      Thread t = new Thread(r, "cucumber-summary-live-send");
+      t.setDaemon(true);
+      return t;
+    });
+    server.createContext("/events", this::events);
+    server.createContext("/", this::shell);
+    server.start();
+    flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Starts the dashboard on the loopback interface.
+   *
+   * @param port
+   *            port to bind; {@code 0} picks a free one
+   * @param flushMillis
+   *            interval at which pending results are pushed as one batch
+   * @return running dashboard, or {@code null} if the server could not start
+   */
+  static LiveDashboard start(int port, long flushMillis) {
+    try {
+      HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+      LiveDashboard d = new LiveDashboard(server, Math.max(50, flushMillis));
+      log.info("Live dashboard at http://localhost:{}/", server.getAddress().getPort());
+      return d;
+    } catch (IOException ex) {
+      log.error("Live dashboard start fail", ex);
+      return null;
+    }
+  }
+
+  /**
+   * Records a finished scenario. Never blocks: the result is queued for the next
+   * batch.
+   *
+   * @param featureUri
+   *            feature URI
+   * @param featureName
+   *            feature name shown on the dashboard
+   * @param scenario
+   *            scenario display name
+   * @param color
+   *            status colour as used in the report ({@code green/red/cyan})
+   */
+  void publish(String featureUri, String featureName, String scenario, String color) {
+    FeatureCounts c = features.computeIfAbsent(featureUri, k -> new FeatureCounts(featureName));
+    if ("green".equals(color)) {
+      pass.incrementAndGet();
+      c.pass.incrementAndGet();
+    } else if ("red".equals(color)) {
+      fail.incrementAndGet();
+      c.fail.incrementAndGet();
+    } else {
+      skip.incrementAndGet();
+      c.skip.incrementAndGet();
+    }
+    c.dirty = true;
+    pending.add(new String[]{featureName, scenario, color});
+  }
+
+  /**
+   * Has the flusher push the last batch, tell the browsers the run is over and
+   * end their event streams, gives the browsers up to
+   * {@link #STOP_DRAIN_MILLIS} to receive that, then shuts the server down
+   * without waiting. Nothing is written to a browser from the calling thread.
+   *
+   * @param reportPath
+   *            location of the generated HTML report, shown on the page
+   */
+  void stop(String reportPath) {
+    try {
+      flusher.execute(() -> {
+        flush();
+        broadcast("event: done\ndata: " + Escape.json(reportPath) + "\n\n");
+        clients.forEach(Client::finish);
+        clients.clear();
+      });
+    } catch (RejectedExecutionException ignored) {
+      // already stopped
+    }
+    flusher.shutdown();
+    try {
+      flusher.awaitTermination(5, TimeUnit.SECONDS);
+      senders.shutdown();
+      senders.awaitTermination(STOP_DRAIN_MILLIS, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+    // Closes every connection, which also releases a sender stuck on a stalled
+    // browser
+    server.stop(0);
+    senders.shutdownNow();
+  }
+
+  /**
+   * Runs on the flusher thread: coalesces everything queued since the last tick
+   * into a single {@code batch} event.
+   */
+  private synchronized void flush() {
+    List<String[]> rows = new ArrayList<>();
+    int dropped = 0;
+    String[] r;
+    while ((r = pending.poll()) != null) {
+      if (rows.size() < MAX_ROWS_PER_BATCH)
+        rows.add(r);
+      else
+        dropped++;
+    }
+    boolean changed = !rows.isEmpty();
+    for (FeatureCounts c : features.values())
+      changed |= c.dirty;
+    if (!changed || clients.isEmpty()) {
+      features.values().forEach(c -> c.dirty = false);
+      return;
+    }
+
+    StringBuilder sb = new StringBuilder("event: batch\ndata: {");
+    appendTotals(sb);
+    sb.append(",\"f\":{");
+    appendFeatures(sb, true);
+    sb.append("},\"s\":[");
+    for (int i = 0; i < rows.size(); i++) {
+      if (i > 0)
+        sb.append(',');
+      String[] row = rows.get(i);
+      sb.append('[').append(Escape.json(row[0])).append(',').append(Escape.json(row[1])).append(',')
+          .append(Escape.json(row[2])).append(']');
+    }
+    sb.append("],\"more\":").append(dropped).append("}\n\n");
+    broadcast(sb.toString());
+  }
+
+  private void appendTotals(StringBuilder sb) {
+    sb.append("\"t\":[").append(pass.get()).append(',').append(fail.get()).append(',').append(skip.get())
+        .append(']');
+  }
+
+  private void appendFeatures(StringBuilder sb, boolean onlyDirty) {
+    boolean first = true;
+    for (Map.Entry<String, FeatureCounts> e : features.entrySet()) {
+      FeatureCounts c = e.getValue();
+      if (onlyDirty) {
+        if (!c.dirty)
+          continue;
+        c.dirty = false; // cleared before reading, so a concurrent update is resent next tick
+      }
+      if (!first)
+        sb.append(',');
+      first = false;
+      sb.append(Escape.json(e.getKey())).append(":[").append(Escape.json(c.name)).append(',')
+          .append(c.pass.get()).append(',').append(c.fail.get()).append(',').append(c.skip.get()).append(']');
+    }
+  }
+
+  private void broadcast(String message) {
+    byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+    clients.forEach(c -> c.send(bytes));
+  }
+
+  /**
+   * {@code /events}: keeps the exchange open and sends the current state so a
+   * late browser starts from the right totals.
+   */
+  private void events(HttpExchange ex) throws IOException {
+    ex.getResponseHeaders().set("Content-Type", "text/event-stream; charset=UTF-8");
+    ex.getResponseHeaders().set("Cache-Control", "no-cache");
+    ex.sendResponseHeaders(200, 0);
+    Client client = new Client(ex.getResponseBody());
+    synchronized (this) {
+      StringBuilder sb = new StringBuilder("event: snapshot\ndata: {");
+      appendTotals(sb);
+      sb.append(",\"f\":{");
+      appendFeatures(sb, false);
+      sb.append("}}\n\n");
+      // Queued before any batch, as batches are built under the same lock
+      client.send(sb.toString().getBytes(StandardCharsets.UTF_8));
+      clients.add(client);
+    }
+  }
+
+  /**
+   * {@code /}: the dashboard page itself.
+   */
+  private void shell(HttpExchange ex) throws IOException {
+    byte[] body;
+    try (InputStream in = getClass().getClassLoader().getResourceAsStream("LiveDashboard.html")) {
+      if (in == null) {
+        log.error("Template LiveDashboard.html missing");
+        ex.sendResponseHeaders(500, -1);
+        return;
+      }
+      body = in.readAllBytes();
+    }
+    ex.getResponseHeaders().set("Content-Type", "text/html; charset=UTF-8");
+    ex.sendResponseHeaders(200, body.length);
+    try (OutputStream out = ex.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  /**
+   * One connected browser: messages are queued and written in order on a sender
+   * thread.
+   */
+  private class Client {
+    private final OutputStream out;
+    private final Queue<byte[]> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile long writingSince = 0; // System.nanoTime() of a write in progress, 0 if none
+    private volatile boolean finishing = false;
+    private volatile boolean dropped = false;
+
+    Client(OutputStream out) {
+      this.out = out;
+    }
+
+    /**
+     * Queues a message without blocking, or drops this browser if it has stopped
+     * keeping up.
+     */
+    void send(byte[] message) {
+      if (dropped)
+        return;
+      long since = writingSince;
+      if (queued.incrementAndGet() > MAX_QUEUED
+          || since != 0 && System.nanoTime() - since > TimeUnit.MILLISECONDS.toNanos(WRITE_TIMEOUT_MILLIS)) {
+        drop();
+        return;
+      }
+      queue.add(message);
+      schedule();
+    }
+
+    /**
+     * Ends the event stream once the queued messages are written.
+     */
+    void finish() {
+      finishing = true;
+      schedule();
+    }
+
+    private void schedule() {
+      if (!draining.compareAndSet(false, true))
+        return;
+      try {
+        senders.execute(this::drain);
+      } catch (RejectedExecutionException ex) {
+        drop();
+      }
+    }
+
+    private void drain() {
+      do {
+        byte[] m;
+        try {
+          while (!dropped && (m = queue.poll()) != null) {
+            queued.decrementAndGet();
+            writingSince = System.nanoTime();
+            out.write(m);
+            out.flush();
+            writingSince = 0;
+          }
+          if (finishing && !dropped) {
+            dropped = true;
+            out.close();
+          }
+        } catch (IOException ex) {
+          drop(); // browser tab closed
+        }
+        draining.set(false);
+      } while (!dropped && (!queue.isEmpty() || finishing) && draining.compareAndSet(false, true));
+    }
+
+    /**
+     * Forgets this browser. Its connection is closed by {@code server.stop}; it is
+     * not closed here, as that could block on a stalled socket.
+     */
+    private void drop() {
+      dropped = true;
+      queue.clear();
+      clients.remove(this);
+    }
+  }
+
+  /**
+   * Live per-feature counters.
+   */
+  private static class FeatureCounts {
+    final String name;
+    final AtomicInteger pass = new AtomicInteger(), fail = new AtomicInteger(), skip = new AtomicInteger();
+    volatile boolean dirty;
+
+    FeatureCounts(String name) {
+      this.name = name;
+    }
+  }
+}
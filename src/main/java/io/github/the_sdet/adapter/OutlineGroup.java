@@ -0,0 +1,132 @@
+package io.github.the_sdet.adapter;
+
+import io.cucumber.plugin.event.Status;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One item of a feature's scenario table: either a plain scenario or all
+ * example rows of a scenario outline.
+ * <p>
+ * Example rows are grouped by the line of their Scenario Outline, so outlines
+ * sharing a name stay apart and filled-in placeholders do not matter. Rows are
+ * ordered by line so consecutive rows with the same status can be run-length
+ * encoded ({@link #runs(boolean[])}); the report renders one header row per
+ * outline and leaves the expansion of the remaining rows to the browser.
+ *
+ * @author Pabitra Swain (contact.the.sdet@gmail.com)
+ */
+class OutlineGroup {
+
+  /**
+   * Scenario name; for outlines the name as written in the feature file.
+   */
+  final String name;
+
+  /**
+   * Scenario id → result; ordered by line for outlines.
+   */
+  final List<Map.Entry<String, CucumberSummaryReporter.ResultEntry>> rows = new ArrayList<>();
+
+  private final boolean outline;
+
+  private OutlineGroup(String name, boolean outline) {
+    this.name = name;
+    this.outline = outline;
+  }
+
+  /**
+   * Groups a feature's results. Each outline is placed where its first finished
+   * row was; plain scenarios keep their position.
+   *
+   * @param scenarios
+   *            scenario id → result, in report order
+   * @param outlineNames
+   *            outline line → outline name; {@code null} keeps every row as its
+   *            own item
+   * @return table items in report order
+   */
+  static List<OutlineGroup> of(Map<String, CucumberSummaryReporter.ResultEntry> scenarios,
+      Map<Integer, String> outlineNames) {
+    List<OutlineGroup> items = new ArrayList<>();
+    Map<Integer, OutlineGroup> outlines = new LinkedHashMap<>();
+    for (Map.Entry<String, CucumberSummaryReporter.ResultEntry> sc : scenarios.entrySet()) {
+      int outlineLine = sc.getValue().outlineLine;
+      if (outlineNames == null || outlineLine < 0) {
+        OutlineGroup single = new OutlineGroup(sc.getValue().display, false);
+        single.rows.add(sc);
+        items.add(single);
+        continue;
+      }
+      OutlineGroup g = outlines.get(outlineLine);
+      if (g == null) {
+        g = new OutlineGroup(outlineNames.getOrDefault(outlineLine, sc.getValue().display), true);
+        outlines.put(outlineLine, g);
+        items.add(g);
+      }
+      g.rows.add(sc);
+    }
+    for (OutlineGroup g : outlines.values())
+      g.rows.sort(Comparator.comparingInt(r -> r.getValue().line));
+    return items;
+  }
+
+  /**
+   * @return {@code true} for an outline with more than one row, which is
+   *         rendered as a group
+   */
+  boolean isGroup() {
+    return outline && rows.size() > 1;
+  }
+
+  int count(Status status) {
+    int n = 0;
+    for (Map.Entry<String, CucumberSummaryReporter.ResultEntry> r : rows)
+      if (r.getValue().status == status)
+        n++;
+    return n;
+  }
+
+  /**
+   * Run-length encoded rows, space separated. Each run is a status letter
+   * ({@code g}reen / {@code r}ed / {@code c}yan), the line of its first row and,
+   * if longer than one row, {@code x<count>}. Upper case marks rows that are
+   * already rendered. A run ends when the status or the rendered flag changes or
+   * the lines are not consecutive.
+   *
+   * @param rendered
+   *            per row, whether it is rendered in the report
+   * @return e.g. {@code g12x1200 R1212 g1213x799}
+   */
+  String runs(boolean[] rendered) {
+    StringBuilder sb = new StringBuilder();
+    int i = 0;
+    while (i < rows.size()) {
+      char c = letter(rows.get(i).getValue().status, rendered[i]);
+      int j = i + 1;
+      while (j < rows.size() && letter(rows.get(j).getValue().status, rendered[j]) == c
+          && line(j) == line(j - 1) + 1)
+        j++;
+      if (sb.length() > 0)
+        sb.append(' ');
+      sb.append(c).append(line(i));
+      if (j - i > 1)
+        sb.append('x').append(j - i);
+      i = j;
+    }
+    return sb.toString();
+  }
+
+  private static char letter(Status status, boolean rendered) {
+    char c = CucumberSummaryReporter.statusColor(status).charAt(0);
+    return rendered ? Character.toUpperCase(c) : c;
+  }
+
+  private int line(int row) {
+    return rows.get(row).getValue().line;
+  }
+}
@@ -0,0 +1,64 @@
+package io.github.the_sdet.adapter;
+
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Extension point for receiving scenario results while the run is in progress.
+ * <p>
+ * Implementations are discovered with {@link java.util.ServiceLoader}: list the
+ * fully qualified class name in
+ * {@code META-INF/services/io.github.the_sdet.adapter.ResultSink} on the test
+ * class-path. Each sink gets its own delivery thread and bounded buffer, so a
+ * slow sink never blocks Cucumber; results that do not fit in the buffer are
+ * dropped and counted instead.
+ * <p>
+ * Batches are delivered when {@code sink.batch.size} results are waiting or
+ * {@code sink.batch.millis} have passed since the oldest one arrived, whichever
+ * comes first.
+ *
+ * <pre>
+ * public class FileSink implements ResultSink {
+ *   public void accept(List&lt;ScenarioResult&gt; batch) throws IOException {
+ *     // append the batch to a file, a queue, a database ...
+ *   }
+ * }
+ * </pre>
+ *
+ * @author Pabitra Swain (contact.the.sdet@gmail.com)
+ */
+public interface ResultSink {
+
+  /**
+   * Called once on the sink's delivery thread before the first batch.
+   *
+   * @param config
+   *            merged reporter configuration (properties file overlaid with
+   *            {@code cucumber.summary.*} system properties, prefix stripped), so
+   *            sinks can read their own keys
+   * @throws Exception
+   *             to disable the sink for this run
+   */
+  default void open(Properties config) throws Exception {
+  }
+
+  /**
+   * Receives the next batch of finished scenarios, in completion order.
+   *
+   * @param batch
+   *            unmodifiable, non-empty batch
+   * @throws Exception
+   *             the batch is counted as failed; delivery continues with the next
+   *             one
+   */
+  void accept(List<ScenarioResult> batch) throws Exception;
+
+  /**
+   * Called once on the sink's delivery thread after the last batch.
+   *
+   * @throws Exception
+   *             logged and ignored
+   */
+  default void close() throws Exception {
+  }
+}
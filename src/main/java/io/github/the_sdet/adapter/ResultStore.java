@@ -0,0 +1,347 @@
+package io.github.the_sdet.adapter;
+
+import io.cucumber.plugin.event.Status;
+import io.github.the_sdet.adapter.CucumberSummaryReporter.ResultEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.the_sdet.adapter.CucumberSummaryReporter.log;
+
+/**
+ * Feature-ordered store for scenario results with an optional heap budget.
+ * <p>
+ * Results are held in memory as per-feature blocks. Once the number of held
+ * scenario entries exceeds the configured budget, the oldest blocks are handed
+ * to a single background writer and appended to a sequential temp file, so the
+ * Cucumber handler threads never touch the disk. Reads merge the spilled blocks
+ * of a feature with the block still in memory, in the order they were
+ * recorded, and features are always returned in first-seen order.
+ * <p>
+ * A budget of {@code 0} (the default) disables spilling entirely.
+ * <p>
+ * {@link #closeSpill()} ends the spill writer at the end of a run; spilled
+ * results stay readable and a later spill reopens the file.
+ *
+ * @author Pabitra Swain (contact.the.sdet@gmail.com)
+ */
+class ResultStore {
+
+  /**
+   * Feature URI → blocks already handed to the spill writer, in spill order. Key
+   * order is the first-seen order of features.
+   */
+  private final Map<String, List<Block>> spilled = new LinkedHashMap<>();
+
+  /**
+   * Feature URI → block still being filled in memory. Key order is the age of the
+   * block, oldest first, which is the order blocks are spilled in.
+   */
+  private final Map<String, Map<String, ResultEntry>> held = new LinkedHashMap<>();
+
+  private int heldCount = 0;
+  private int memoryBudget = 0;
+
+  private ExecutorService spillWriter;
+  private volatile boolean spillFailed = false;
+
+  /**
+   * Spill file state, only touched by the spill writer thread (and by
+   * {@link #closeSpill()} once it is idle).
+   */
+  private final Object fileLock = new Object();
+  private volatile Path spillPath;
+  private FileChannel spillFile;
+  private long spillEnd = 0;
+
+  /**
+   * Sets the maximum number of scenario results kept on the heap before feature
+   * blocks are spilled to disk.
+   *
+   * @param budget
+   *            max scenario results in memory; {@code 0} or less disables
+   *            spilling
+   */
+  synchronized void setMemoryBudget(int budget) {
+    memoryBudget = Math.max(0, budget);
+  }
+
+  /**
+   * Records (or replaces) the result of a scenario.
+   *
+   * @param uri
+   *            feature URI
+   * @param id
+   *            test case id
+   * @param entry
+   *            scenario result
+   */
+  synchronized void put(String uri, String id, ResultEntry entry) {
+    spilled.computeIfAbsent(uri, k -> new ArrayList<>());
+    if (held.computeIfAbsent(uri, k -> new LinkedHashMap<>()).put(id, entry) == null)
+      heldCount++;
+    if (memoryBudget > 0 && heldCount > memoryBudget && !spillFailed)
+      spillOldest();
+  }
+
+  /**
+   * @return {@code true} when no result has been recorded yet
+   */
+  synchronized boolean isEmpty() {
+    return spilled.isEmpty();
+  }
+
+  /**
+   * @return snapshot of all feature URIs in first-seen order
+   */
+  synchronized List<String> featureUris() {
+    return new ArrayList<>(spilled.keySet());
+  }
+
+  /**
+   * Loads every result of a feature, reading spilled blocks back from disk when
+   * needed. Safe to call from several threads at once.
+   *
+   * @param uri
+   *            feature URI
+   * @return scenario id → result, in recording order (never {@code null})
+   */
+  Map<String, ResultEntry> feature(String uri) {
+    List<Block> blocks;
+    Map<String, ResultEntry> inMemory;
+    synchronized (this) {
+      blocks = new ArrayList<>(spilled.getOrDefault(uri, new ArrayList<>()));
+      Map<String, ResultEntry> h = held.get(uri);
+      inMemory = h == null ? null : new LinkedHashMap<>(h);
+    }
+    Map<String, ResultEntry> merged = new LinkedHashMap<>();
+    for (Block b : blocks)
+      merged.putAll(b.read());
+    if (inMemory != null)
+      merged.putAll(inMemory);
+    return merged;
+  }
+
+  /**
+   * Hands the oldest in-memory blocks to the spill writer until the held count is
+   * back to half the budget, so spills happen in large sequential chunks rather
+   * than once per scenario.
+   */
+  private void spillOldest() {
+    if (spillWriter == null) {
+      spillWriter = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "cucumber-summary-spill");
+        t.setDaemon(true);
+        return t;
+      });
+    }
+    Iterator<Map.Entry<String, Map<String, ResultEntry>>> it = held.entrySet().iterator();
+    while (it.hasNext() && heldCount > memoryBudget / 2) {
+      Map.Entry<String, Map<String, ResultEntry>> e = it.next();
+      Block block = new Block(e.getValue());
+      spilled.get(e.getKey()).add(block);
+      heldCount -= e.getValue().size();
+      it.remove();
+      spillWriter.execute(() -> write(block));
+    }
+  }
+
+  /**
+   * Waits for queued spill writes, then closes the spill file and stops the
+   * writer thread. Called at the end of a run.
+   */
+  void closeSpill() {
+    ExecutorService writer;
+    synchronized (this) {
+      writer = spillWriter;
+      spillWriter = null;
+    }
+    if (writer == null)
+      return;
+    writer.shutdown();
+    try {
+      if (!writer.awaitTermination(30, TimeUnit.SECONDS))
+        log.warn("Spill writer still busy – spill file left open");
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+    synchronized (fileLock) {
+      if (spillFile == null)
+        return;
+      try {
+        spillFile.close();
+      } catch (IOException ex) {
+        log.warn("Spill file close fail", ex);
+      }
+      spillFile = null;
+    }
+  }
+
+  /**
+   * Runs on the spill writer thread: opens (or reopens) the temp file. On failure
+   * spilling is switched off and results simply stay in memory.
+   *
+   * @return {@code true} if the file is open
+   */
+  private boolean openSpillFile() {
+    if (spillFile != null)
+      return true;
+    if (spillFailed)
+      return false;
+    try {
+      Path p = spillPath;
+      if (p == null) {
+        p = Files.createTempFile("cucumber-summary-", ".spill");
+        p.toFile().deleteOnExit();
+        log.info("Result memory budget exceeded – spilling to {}", p);
+      }
+      spillFile = FileChannel.open(p, StandardOpenOption.WRITE);
+      spillEnd = spillFile.size();
+      spillPath = p;
+      return true;
+    } catch (IOException ex) {
+      spillFailed = true;
+      log.error("Spill file open fail – keeping all results in memory", ex);
+      return false;
+    }
+  }
+
+  /**
+   * Runs on the spill writer thread. Appends a block as
+   * {@code [int length][payload]} and releases its in-memory copy. If the write
+   * fails the block keeps its entries, so nothing is lost.
+   *
+   * @param block
+   *            block to persist
+   */
+  private void write(Block block) {
+    synchronized (fileLock) {
+      try {
+        if (openSpillFile())
+          append(block);
+      } catch (IOException ex) {
+        log.error("Spill write fail – block kept in memory", ex);
+      }
+    }
+  }
+
+  private void append(Block block) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(0);
+    Map<String, ResultEntry> entries = block.entries();
+    out.writeInt(entries.size());
+    for (Map.Entry<String, ResultEntry> e : entries.entrySet()) {
+      writeString(out, e.getKey());
+      writeString(out, e.getValue().display);
+      writeString(out, e.getValue().status.name());
+      out.writeLong(e.getValue().durationMillis);
+      out.writeInt(e.getValue().line);
+      out.writeInt(e.getValue().outlineLine);
+    }
+    ByteBuffer buf = ByteBuffer.wrap(bytes.toByteArray());
+    buf.putInt(0, buf.limit() - Integer.BYTES);
+    long offset = spillEnd;
+    while (buf.hasRemaining())
+      spillEnd += spillFile.write(buf, spillEnd);
+    block.spilled(offset);
+  }
+
+  /**
+   * Length-prefixed UTF-8; unlike {@code writeUTF} not limited to 64 KB.
+   */
+  private static void writeString(DataOutputStream out, String s) throws IOException {
+    byte[] b = s.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(b.length);
+    out.write(b);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    byte[] b = new byte[in.readInt()];
+    in.readFully(b);
+    return new String(b, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Reads one spilled block back from disk.
+   *
+   * @param offset
+   *            position of the block's length prefix
+   * @return scenario id → result
+   */
+  private Map<String, ResultEntry> readBlock(long offset) throws IOException {
+    // Each read opens its own handle: reads run in parallel, and an interrupted
+    // reader cannot close a channel shared with the writer
+    byte[] payload;
+    try (RandomAccessFile file = new RandomAccessFile(spillPath.toFile(), "r")) {
+      file.seek(offset);
+      payload = new byte[file.readInt()];
+      file.readFully(payload);
+    }
+
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+    int count = in.readInt();
+    Map<String, ResultEntry> entries = new LinkedHashMap<>();
+    for (int i = 0; i < count; i++) {
+      String id = readString(in);
+      entries.put(id, new ResultEntry(readString(in), Status.valueOf(readString(in)), in.readLong(), in.readInt(),
+          in.readInt()));
+    }
+    return entries;
+  }
+
+  /**
+   * A feature block handed to the spill writer. Holds its entries until the
+   * writer has persisted them, then only the file offset.
+   */
+  private final class Block {
+    private Map<String, ResultEntry> entries;
+    private long offset = -1;
+
+    Block(Map<String, ResultEntry> entries) {
+      this.entries = entries;
+    }
+
+    synchronized Map<String, ResultEntry> entries() {
+      return entries;
+    }
+
+    synchronized void spilled(long offset) {
+      this.offset = offset;
+      this.entries = null;
+    }
+
+    Map<String, ResultEntry> read() {
+      long off;
+      synchronized (this) {
+        if (entries != null)
+          return entries;
+        off = offset;
+      }
+      try {
+        return readBlock(off);
+      } catch (IOException ex) {
+        log.error("Spill read fail", ex);
+        return new LinkedHashMap<>();
+      }
+    }
+  }
+}
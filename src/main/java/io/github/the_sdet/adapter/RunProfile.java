@@ -0,0 +1,208 @@
+package io.github.the_sdet.adapter;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.OperatingSystemMXBean;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Breaks the run down into phases and samples JVM resource usage, so a slow run
+ * can be attributed to test time, GC pressure or reporter overhead.
+ *
+ * <p>
+ * Phases are measured with {@link System#nanoTime()}, so wall-clock adjustments
+ * during the run do not skew them:
+ * </p>
+ * <ul>
+ * <li>Parsing – first to last {@code TestSourceParsed}</li>
+ * <li>Execution – first {@code TestCaseStarted} to {@code TestRunFinished}</li>
+ * <li>Report – HTML report generation</li>
+ * </ul>
+ * <p>
+ * Process CPU time and GC count / time are taken from the platform MXBeans as
+ * deltas from the start of the run. Peak heap is the sum of the peak usage of
+ * each heap pool, i.e. an upper bound. The pools' peaks are not reset, as other
+ * tools in the JVM may rely on them; instead the peak at the start of the run is
+ * kept as a baseline, so a peak the run did not raise can be told apart.
+ * </p>
+ *
+ * @author Pabitra Swain (contact.the.sdet@gmail.com)
+ */
+class RunProfile {
+
+  private static final long UNSET = Long.MIN_VALUE;
+
+  private static final AtomicLong firstParsed = new AtomicLong(UNSET);
+  private static final AtomicLong lastParsed = new AtomicLong(UNSET);
+  private static final AtomicLong firstCaseStarted = new AtomicLong(UNSET);
+  private static volatile long runEnd = UNSET;
+  private static volatile long reportStart = UNSET;
+  private static volatile long reportEnd = UNSET;
+
+  private static long cpuAtStart = 0;
+  private static long gcCountAtStart = 0;
+  private static long gcTimeAtStart = 0;
+  private static long peakHeapAtStart = 0;
+
+  private RunProfile() {
+  }
+
+  /**
+   * Clears the phase marks of any earlier run in this JVM and takes the resource
+   * baseline. Call when the run starts.
+   */
+  static void markRunStart() {
+    firstParsed.set(UNSET);
+    lastParsed.set(UNSET);
+    firstCaseStarted.set(UNSET);
+    runEnd = UNSET;
+    reportStart = UNSET;
+    reportEnd = UNSET;
+    cpuAtStart = processCpuNanos();
+    gcCountAtStart = gcCount();
+    gcTimeAtStart = gcMillis();
+    peakHeapAtStart = peakHeapBytes();
+  }
+
+  /**
+   * Records a {@code TestSourceParsed} event.
+   */
+  static void markSourceParsed() {
+    long now = System.nanoTime();
+    firstParsed.compareAndSet(UNSET, now);
+    lastParsed.set(now);
+  }
+
+  /**
+   * Records a {@code TestCaseStarted} event; only the first one matters.
+   */
+  static void markCaseStarted() {
+    if (firstCaseStarted.get() == UNSET)
+      firstCaseStarted.compareAndSet(UNSET, System.nanoTime());
+  }
+
+  /**
+   * Records {@code TestRunFinished}.
+   */
+  static void markRunEnd() {
+    runEnd = System.nanoTime();
+  }
+
+  /**
+   * Marks the start of report generation.
+   */
+  static void markReportStart() {
+    reportStart = System.nanoTime();
+  }
+
+  /**
+   * Marks the end of report generation.
+   */
+  static void markReportEnd() {
+    reportEnd = System.nanoTime();
+  }
+
+  /**
+   * Human-readable one-line summary for the report header. Report generation is
+   * measured up to the moment the summary is taken.
+   *
+   * @return e.g. "Parsing 0.4 sec | Execution 3 min 5 sec | Report 1.2 sec | CPU
+   *         5 min 2 sec | GC 42 (1.3 sec) | Peak heap 512 MB"; the peak heap
+   *         is marked "(before run)" if the run did not raise it
+   */
+  static String summary() {
+    long report = reportEnd != UNSET ? reportMillis() : elapsedMillis(reportStart, System.nanoTime());
+    long peak = peakHeapBytes();
+    return "Parsing " + format(parsingMillis()) + " | Execution " + format(executionMillis()) + " | Report "
+        + format(report) + " | CPU " + format(cpuMillis()) + " | GC " + (gcCount() - gcCountAtStart) + " ("
+        + format(gcMillis() - gcTimeAtStart) + ") | Peak heap " + (peak >> 20) + " MB"
+        + (peak > peakHeapAtStart ? "" : " (before run)");
+  }
+
+  /**
+   * Machine-readable profile. Durations are in milliseconds; {@code -1} means
+   * the phase was not observed.
+   *
+   * @return JSON object
+   */
+  static String toJson() {
+    Runtime rt = Runtime.getRuntime();
+    return "{\n" + "  \"parsingMillis\": " + parsingMillis() + ",\n" + "  \"executionMillis\": " + executionMillis()
+        + ",\n" + "  \"reportMillis\": " + reportMillis() + ",\n" + "  \"processCpuMillis\": " + cpuMillis() + ",\n"
+        + "  \"gcCount\": " + (gcCount() - gcCountAtStart) + ",\n" + "  \"gcMillis\": "
+        + (gcMillis() - gcTimeAtStart) + ",\n" + "  \"peakHeapBytes\": " + peakHeapBytes() + ",\n"
+        + "  \"peakHeapBytesAtStart\": " + peakHeapAtStart + ",\n"
+        + "  \"maxHeapBytes\": " + rt.maxMemory() + ",\n" + "  \"availableProcessors\": "
+        + rt.availableProcessors() + "\n}\n";
+  }
+
+  static long parsingMillis() {
+    return elapsedMillis(firstParsed.get(), lastParsed.get());
+  }
+
+  static long executionMillis() {
+    return elapsedMillis(firstCaseStarted.get(), runEnd);
+  }
+
+  static long reportMillis() {
+    return elapsedMillis(reportStart, reportEnd);
+  }
+
+  private static long elapsedMillis(long from, long to) {
+    return from == UNSET || to == UNSET ? -1 : Duration.ofNanos(to - from).toMillis();
+  }
+
+  private static long cpuMillis() {
+    long now = processCpuNanos();
+    return now < 0 ? -1 : Duration.ofNanos(now - cpuAtStart).toMillis();
+  }
+
+  /**
+   * Process CPU time where the JVM exposes it, {@code -1} otherwise.
+   */
+  private static long processCpuNanos() {
+    OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    if (os instanceof com.sun.management.OperatingSystemMXBean)
+      return ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime();
+    return -1;
+  }
+
+  private static long gcCount() {
+    long sum = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+      sum += Math.max(0, gc.getCollectionCount());
+    return sum;
+  }
+
+  private static long gcMillis() {
+    long sum = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+      sum += Math.max(0, gc.getCollectionTime());
+    return sum;
+  }
+
+  private static long peakHeapBytes() {
+    long sum = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP && pool.isValid() && pool.getPeakUsage() != null)
+        sum += pool.getPeakUsage().getUsed();
+    }
+    return sum;
+  }
+
+  /**
+   * Sub-minute values keep one decimal ("0.4 sec"); longer ones use
+   * {@link TestDuration#format(Duration)}.
+   */
+  private static String format(long millis) {
+    if (millis < 0)
+      return "n/a";
+    if (millis < 60_000)
+      return String.format(Locale.ROOT, "%.1f sec", millis / 1000.0);
+    return TestDuration.format(Duration.ofMillis(millis));
+  }
+}
@@ -0,0 +1,51 @@
+package io.github.the_sdet.adapter;
+
+import io.cucumber.plugin.event.Status;
+
+/**
+ * Immutable record of one finished scenario, as delivered to a
+ * {@link ResultSink}.
+ *
+ * @author Pabitra Swain (contact.the.sdet@gmail.com)
+ */
+public final class ScenarioResult {
+  /**
+   * URI of the feature file.
+   */
+  public final String featureUri;
+  /**
+   * Test case id assigned by Cucumber.
+   */
+  public final String scenarioId;
+  /**
+   * Scenario name as shown in the report (outline rows include their line).
+   */
+  public final String scenarioName;
+  /**
+   * Final scenario status.
+   */
+  public final Status status;
+  /**
+   * Scenario execution time in milliseconds.
+   */
+  public final long durationMillis;
+  /**
+   * Wall-clock time the scenario finished, in epoch milliseconds.
+   */
+  public final long finishedAtMillis;
+
+  ScenarioResult(String featureUri, String scenarioId, String scenarioName, Status status, long durationMillis,
+      long finishedAtMillis) {
+    this.featureUri = featureUri;
+    this.scenarioId = scenarioId;
+    this.scenarioName = scenarioName;
+    this.status = status;
+    this.durationMillis = durationMillis;
+    this.finishedAtMillis = finishedAtMillis;
+  }
+
+  @Override
+  public String toString() {
+    return featureUri + " | " + scenarioName + " | " + status;
+  }
+}
@@ -0,0 +1,135 @@
+package io.github.the_sdet.adapter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Builds the client-side search index embedded in the HTML report.
+ * <p>
+ * Every distinct feature / scenario name is stored once, together with the
+ * report rows it appears on, and a trigram → name posting list is precomputed
+ * so the browser can answer a query by intersecting a few small arrays instead
+ * of scanning the DOM. Names are indexed without the outline row suffix, so
+ * examples whose names do not vary share a single entry.
+ * <p>
+ * JSON layout (postings are delta-encoded):
+ *
+ * <pre>
+ * {"n":["name", ...], "r":[[featureNo, row, featureNo, row, ...], ...], "g":{"abc":[0, 3, 1], ...}}
+ * </pre>
+ *
+ * A row of {@code -1} marks a feature name match.
+ *
+ * @author Pabitra Swain (contact.the.sdet@gmail.com)
+ */
+class SearchIndex {
+
+  private final Map<String, Integer> ids = new HashMap<>();
+  private final List<String> names = new ArrayList<>();
+  private final List<List<Integer>> refs = new ArrayList<>();
+
+  /**
+   * Index a feature heading.
+   *
+   * @param featureNo
+   *            1-based feature number as used in the report element ids
+   * @param name
+   *            feature name as displayed
+   */
+  void addFeature(int featureNo, String name) {
+    add(name, featureNo, -1);
+  }
+
+  /**
+   * Index a scenario row.
+   *
+   * @param featureNo
+   *            1-based feature number as used in the report element ids
+   * @param row
+   *            0-based item position inside the feature's scenario table (an
+   *            outline group counts as one item)
+   * @param name
+   *            scenario name, without the outline row suffix
+   */
+  void addScenario(int featureNo, int row, String name) {
+    add(name, featureNo, row);
+  }
+
+  private void add(String name, int featureNo, int row) {
+    Integer id = ids.get(name);
+    if (id == null) {
+      id = names.size();
+      ids.put(name, id);
+      names.add(name);
+      refs.add(new ArrayList<>());
+    }
+    List<Integer> r = refs.get(id);
+    r.add(featureNo);
+    r.add(row);
+  }
+
+  /**
+   * @return the index serialised as a JavaScript object literal
+   */
+  String toJson() {
+    Map<String, List<Integer>> grams = new TreeMap<>();
+    for (int id = 0; id < names.size(); id++) {
+      for (String g : trigrams(names.get(id)))
+        grams.computeIfAbsent(g, k -> new ArrayList<>()).add(id);
+    }
+
+    StringBuilder sb = new StringBuilder("{\"n\":[");
+    for (int i = 0; i < names.size(); i++) {
+      if (i > 0)
+        sb.append(',');
+      sb.append(Escape.json(names.get(i)));
+    }
+    sb.append("],\"r\":[");
+    for (int i = 0; i < refs.size(); i++) {
+      if (i > 0)
+        sb.append(',');
+      appendArray(sb, refs.get(i), false);
+    }
+    sb.append("],\"g\":{");
+    boolean first = true;
+    for (Map.Entry<String, List<Integer>> e : grams.entrySet()) {
+      if (!first)
+        sb.append(',');
+      first = false;
+      sb.append(Escape.json(e.getKey())).append(':');
+      appendArray(sb, e.getValue(), true);
+    }
+    return sb.append("}}").toString();
+  }
+
+  /**
+   * Distinct lower-cased trigrams of a name; must match {@code trigrams()} in
+   * scripts.js.
+   */
+  private static Set<String> trigrams(String name) {
+    String s = name.toLowerCase(Locale.ROOT);
+    Set<String> out = new LinkedHashSet<>();
+    for (int i = 0; i + 3 <= s.length(); i++)
+      out.add(s.substring(i, i + 3));
+    return out;
+  }
+
+  private static void appendArray(StringBuilder sb, List<Integer> values, boolean delta) {
+    sb.append('[');
+    int prev = 0;
+    for (int i = 0; i < values.size(); i++) {
+      if (i > 0)
+        sb.append(',');
+      int v = values.get(i);
+      sb.append(delta ? v - prev : v);
+      prev = v;
+    }
+    sb.append(']');
+  }
+}
@@ -0,0 +1,199 @@
+package io.github.the_sdet.adapter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Splits features into N shards of roughly equal duration, using the timings
+ * recorded by {@link CucumberSummaryReporter}.
+ * <p>
+ * Features are assigned longest-first, each to the currently lightest shard
+ * (LPT scheduling). Features without a recorded duration get the median of the
+ * known ones, or an equal weight when nothing has been recorded yet.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * java -cp ... io.github.the_sdet.adapter.ShardPlanner &lt;timings-file&gt; &lt;shards&gt; [output-dir] [features-dir ...]
+ * </pre>
+ *
+ * One {@code shard-N.txt} per shard is written to {@code output-dir} (default
+ * {@code testReports/shards}), one feature per line, which Cucumber accepts as
+ * a rerun file, e.g. {@code cucumber.features=@testReports/shards/shard-1.txt}
+ * or {@code @testReports/shards/shard-1.txt} as the features argument on the
+ * command line. When feature directories are given, every {@code .feature}
+ * file below them is planned (new ones with the default weight) and timings of
+ * deleted features are ignored. Discovered files are matched to the recorded
+ * keys by their path relative to the working directory, or, for features run
+ * from the classpath, by the classpath-relative path
+ * ({@code classpath:features/a.feature} matches
+ * {@code src/test/resources/features/a.feature}).
+ *
+ * @author Pabitra Swain (contact.the.sdet@gmail.com)
+ */
+public class ShardPlanner {
+
+  private static final String USAGE = "Usage: ShardPlanner <timings-file> <shards> [output-dir] [features-dir ...]";
+
+  private ShardPlanner() {
+  }
+
+  /**
+   * Command-line entry point.
+   *
+   * @param args
+   *            {@code <timings-file> <shards> [output-dir] [features-dir ...]}
+   * @throws IOException
+   *             if the timings cannot be read or a shard file cannot be written
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2)
+      usage(null);
+    int shards = 0;
+    try {
+      shards = Integer.parseInt(args[1]);
+    } catch (NumberFormatException ignored) {
+      // reported below
+    }
+    if (shards < 1)
+      usage("<shards> must be a positive whole number, got: " + args[1]);
+    TimingsFile timings = TimingsFile.read(Paths.get(args[0]));
+    Path outDir = Paths.get(args.length > 2 ? args[2] : "testReports/shards");
+
+    List<String> features;
+    Map<String, Long> known;
+    if (args.length > 3) {
+      // A set, as overlapping directories find the same feature more than once
+      LinkedHashSet<String> found = new LinkedHashSet<>();
+      for (int i = 3; i < args.length; i++)
+        found.addAll(discover(Paths.get(args[i])));
+      features = new ArrayList<>(found);
+      known = match(features, timings.features);
+    } else {
+      features = new ArrayList<>(timings.features.keySet());
+      known = timings.features;
+    }
+
+    List<List<String>> plan = plan(features, known, shards);
+    long def = defaultWeight(known);
+    Files.createDirectories(outDir);
+    for (int i = 0; i < plan.size(); i++) {
+      List<String> lines = plan.get(i);
+      Files.write(outDir.resolve("shard-" + (i + 1) + ".txt"), lines, StandardCharsets.UTF_8);
+      long total = plan.get(i).stream().mapToLong(f -> weight(f, known, def)).sum();
+      System.out.printf("shard-%d: %d features, ~%d sec%n", i + 1, lines.size(), total / 1000);
+    }
+  }
+
+  private static void usage(String error) {
+    if (error != null)
+      System.err.println(error);
+    System.err.println(USAGE);
+    System.exit(2);
+  }
+
+  /**
+   * Plans {@code shards} balanced feature lists with longest-processing-time
+   * first.
+   *
+   * @param features
+   *            feature keys to distribute
+   * @param durations
+   *            recorded feature durations in milliseconds
+   * @param shards
+   *            number of shards (at least 1)
+   * @return one list of feature keys per shard; lists may be empty when there are
+   *         fewer features than shards
+   */
+  static List<List<String>> plan(List<String> features, Map<String, Long> durations, int shards) {
+    int n = Math.max(1, shards);
+    long def = defaultWeight(durations);
+
+    List<String> sorted = new ArrayList<>(features);
+    sorted.sort(Comparator.comparingLong((String f) -> weight(f, durations, def)).reversed()
+        .thenComparing(Comparator.naturalOrder()));
+
+    List<List<String>> out = new ArrayList<>();
+    // [load, shard index]; ties go to the lower index so the plan is stable
+    PriorityQueue<long[]> loads = new PriorityQueue<>(
+        Comparator.<long[]>comparingLong(a -> a[0]).thenComparingLong(a -> a[1]));
+    for (int i = 0; i < n; i++) {
+      out.add(new ArrayList<>());
+      loads.add(new long[]{0, i});
+    }
+    for (String f : sorted) {
+      long[] lightest = loads.poll();
+      out.get((int) lightest[1]).add(f);
+      lightest[0] += weight(f, durations, def);
+      loads.add(lightest);
+    }
+    return out;
+  }
+
+  private static long weight(String feature, Map<String, Long> durations, long def) {
+    Long d = durations.get(feature);
+    return d != null ? Math.max(1, d) : def;
+  }
+
+  /**
+   * Median of the recorded durations, or {@code 1} when nothing is recorded.
+   */
+  private static long defaultWeight(Map<String, Long> durations) {
+    if (durations.isEmpty())
+      return 1;
+    List<Long> values = new ArrayList<>(durations.values());
+    Collections.sort(values);
+    return Math.max(1, values.get(values.size() / 2));
+  }
+
+  /**
+   * Recorded duration of each discovered feature: by exact key, else by the
+   * longest {@code classpath:} key whose path the feature path ends with.
+   */
+  static Map<String, Long> match(List<String> features, Map<String, Long> recorded) {
+    Map<String, Long> out = new HashMap<>();
+    for (String f : features) {
+      Long d = recorded.get(f);
+      int best = -1;
+      if (d == null) {
+        for (Map.Entry<String, Long> e : recorded.entrySet()) {
+          if (!e.getKey().startsWith("classpath:"))
+            continue;
+          String path = e.getKey().substring("classpath:".length()).replaceFirst("^/+", "");
+          if ((f.equals(path) || f.endsWith("/" + path)) && path.length() > best) {
+            best = path.length();
+            d = e.getValue();
+          }
+        }
+      }
+      if (d != null)
+        out.put(f, d);
+    }
+    return out;
+  }
+
+  /**
+   * Every {@code .feature} file below a directory, keyed the way the reporter
+   * records it ({@link TimingsFile#key(String)}).
+   */
+  private static List<String> discover(Path dir) throws IOException {
+    try (Stream<Path> s = Files.walk(dir)) {
+      return s.filter(p -> p.toString().endsWith(".feature"))
+          .map(p -> TimingsFile.key(p.toAbsolutePath().normalize().toUri().toString())).sorted()
+          .collect(Collectors.toList());
+    }
+  }
+}
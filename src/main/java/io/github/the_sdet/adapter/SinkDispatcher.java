@@ -0,0 +1,196 @@
+package io.github.the_sdet.adapter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.github.the_sdet.adapter.CucumberSummaryReporter.log;
+
+/**
+ * Feeds one {@link ResultSink} from a bounded buffer on its own daemon thread.
+ * <p>
+ * {@link #offer(ScenarioResult)} never blocks: when the buffer is full the
+ * result is dropped and counted. The delivery thread batches by size or age and
+ * counts batches that arrive late (oldest result older than twice the batch
+ * interval) or that the sink rejects. The counters are logged on
+ * {@link #closeAll(List, long)}.
+ *
+ * @author Pabitra Swain (contact.the.sdet@gmail.com)
+ */
+class SinkDispatcher implements Runnable {
+
+  private final ResultSink sink;
+  private final String name;
+  private final Properties config;
+  private final int batchSize;
+  private final long batchMillis;
+  private final BlockingQueue<ScenarioResult> buffer;
+  private final Thread thread;
+  private volatile boolean closing = false;
+
+  private final AtomicLong dropped = new AtomicLong();
+  private long delivered = 0, late = 0, failed = 0;
+
+  private SinkDispatcher(ResultSink sink, Properties config, int batchSize, long batchMillis, int capacity) {
+    this.sink = sink;
+    this.name = sink.getClass().getName();
+    this.config = config;
+    this.batchSize = Math.max(1, batchSize);
+    this.batchMillis = Math.max(1, batchMillis);
+    this.buffer = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    this.thread = new Thread(this, "cucumber-summary-sink-" + sink.getClass().getSimpleName());
+    this.thread.setDaemon(true);
+  }
+
+  /**
+   * Discovers all {@link ResultSink} implementations and starts a dispatcher for
+   * each. A sink that fails to load is logged and skipped.
+   *
+   * @param config
+   *            reporter configuration handed to {@link ResultSink#open}
+   * @param batchSize
+   *            max results per batch
+   * @param batchMillis
+   *            max age of the oldest result before a partial batch is sent
+   * @param capacity
+   *            per-sink buffer size
+   * @return running dispatchers (possibly empty)
+   */
+  static List<SinkDispatcher> startAll(Properties config, int batchSize, long batchMillis, int capacity) {
+    List<SinkDispatcher> out = new ArrayList<>();
+    Iterator<ResultSink> it = ServiceLoader.load(ResultSink.class).iterator();
+    while (true) {
+      try {
+        if (!it.hasNext())
+          break;
+        SinkDispatcher d = new SinkDispatcher(it.next(), config, batchSize, batchMillis, capacity);
+        d.thread.start();
+        out.add(d);
+        log.info("Result sink {} registered", d.name);
+      } catch (ServiceConfigurationError err) {
+        log.error("Result sink load fail", err);
+      }
+    }
+    return out;
+  }
+
+  /**
+   * Queues a result without blocking.
+   *
+   * @param result
+   *            finished scenario
+   */
+  void offer(ScenarioResult result) {
+    if (closing || !buffer.offer(result))
+      dropped.incrementAndGet();
+  }
+
+  /**
+   * Closes several dispatchers at once: all of them are told to deliver what is
+   * buffered and close their sink, then each is waited for against one shared
+   * deadline, so a slow sink does not delay the others' shutdown.
+   *
+   * @param dispatchers
+   *            dispatchers to close
+   * @param timeoutMillis
+   *            how long to wait for all sinks to drain
+   */
+  static void closeAll(List<SinkDispatcher> dispatchers, long timeoutMillis) {
+    dispatchers.forEach(d -> d.closing = true);
+    long deadline = System.currentTimeMillis() + timeoutMillis;
+    for (SinkDispatcher d : dispatchers)
+      d.await(deadline, timeoutMillis);
+  }
+
+  /**
+   * Waits for the delivery thread to finish and logs the delivery counters.
+   *
+   * @param deadline
+   *            wall-clock time to stop waiting at
+   * @param timeoutMillis
+   *            configured timeout, for the log message
+   */
+  private void await(long deadline, long timeoutMillis) {
+    try {
+      long left = deadline - System.currentTimeMillis();
+      if (left > 0)
+        thread.join(left);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+    if (thread.isAlive()) {
+      log.warn("Result sink {} still busy after {} ms – {} buffered results abandoned", name, timeoutMillis,
+          buffer.size());
+      return;
+    }
+    long d = dropped.get();
+    if (d > 0 || late > 0 || failed > 0)
+      log.warn("Result sink {}: {} batches delivered, {} late, {} failed, {} results dropped", name, delivered, late,
+          failed, d);
+    else
+      log.info("Result sink {}: {} batches delivered", name, delivered);
+  }
+
+  @Override
+  public void run() {
+    try {
+      sink.open(config);
+    } catch (Exception ex) {
+      log.error("Result sink {} open fail – disabled", name, ex);
+      closing = true;
+      buffer.clear();
+      return;
+    }
+
+    List<ScenarioResult> batch = new ArrayList<>(batchSize);
+    long due = 0;
+    while (true) {
+      try {
+        long wait = batch.isEmpty() ? batchMillis : Math.max(0, due - System.currentTimeMillis());
+        ScenarioResult r = buffer.poll(wait, TimeUnit.MILLISECONDS);
+        if (r != null) {
+          if (batch.isEmpty())
+            due = System.currentTimeMillis() + batchMillis;
+          batch.add(r);
+          buffer.drainTo(batch, batchSize - batch.size());
+        }
+      } catch (InterruptedException ex) {
+        closing = true;
+      }
+      boolean drained = closing && buffer.isEmpty();
+      if (!batch.isEmpty()
+          && (batch.size() >= batchSize || System.currentTimeMillis() >= due || drained)) {
+        deliver(batch);
+        batch = new ArrayList<>(batchSize);
+      }
+      if (drained && batch.isEmpty())
+        break;
+    }
+
+    try {
+      sink.close();
+    } catch (Exception ex) {
+      log.error("Result sink {} close fail", name, ex);
+    }
+  }
+
+  private void deliver(List<ScenarioResult> batch) {
+    if (System.currentTimeMillis() - batch.get(0).finishedAtMillis > 2 * batchMillis)
+      late++;
+    try {
+      sink.accept(Collections.unmodifiableList(batch));
+      delivered++;
+    } catch (Exception ex) {
+      failed++;
+      log.error("Result sink {} rejected a batch of {}", name, batch.size(), ex);
+    }
+  }
+}
@@ -10,7 +10,9 @@ import static io.github.the_sdet.adapter.CucumberSummaryReporter.log;
  *
  * <p>
  * This class provides tracking of test start and end times It calculates and
- * formats the total duration of test execution in a human-readable format.
+ * formats the total duration of test execution in a human-readable format. The
+ * duration itself is measured with {@link System#nanoTime()}; the wall-clock
+ * instants are only logged. See {@link RunProfile} for the per-phase breakdown.
  * </p>
  *
  * <p>
@@ -28,6 +30,8 @@ class TestDuration {
 
   private static Instant startTime = null;
   private static Instant endTime = null;
+  private static long startNanos = 0;
+  private static long endNanos = 0;
 
   /**
    * Marks the start time of the test execution. This should be called at the very
@@ -35,6 +39,7 @@ class TestDuration {
    */
   public static void markStart() {
     startTime = Instant.now();
+    startNanos = System.nanoTime();
     log.info("Test Started at {}", startTime);
   }
 
@@ -44,6 +49,7 @@ class TestDuration {
    */
   public static void markEnd() {
     endTime = Instant.now();
+    endNanos = System.nanoTime();
     log.info("Test Completed at {}", endTime);
   }
 
@@ -58,7 +64,7 @@ class TestDuration {
     if (startTime == null || endTime == null)
       return "—";
 
-    Duration duration = Duration.between(startTime, endTime);
+    Duration duration = Duration.ofNanos(endNanos - startNanos);
     return formatDuration(duration);
   }
 
@@ -71,6 +77,19 @@ class TestDuration {
    * @return a human-readable duration string
    */
   public static String formatDuration(Duration duration) {
+    String formattedDuration = format(duration);
+    log.info("Test Duration: {}", formattedDuration);
+    return formattedDuration;
+  }
+
+  /**
+   * Same format as {@link #formatDuration(Duration)}, without logging.
+   *
+   * @param duration
+   *            the {@link Duration} to format
+   * @return a human-readable duration string
+   */
+  static String format(Duration duration) {
     long seconds = duration.getSeconds();
     long hours = seconds / 3600;
     long minutes = (seconds % 3600) / 60;
@@ -82,8 +101,6 @@ class TestDuration {
     if (minutes > 0 || hours > 0)
       sb.append(minutes).append(" min ");
     sb.append(secs).append(" sec");
-    String formattedDuration = sb.toString().trim();
-    log.info("Test Duration: {}", formattedDuration);
-    return formattedDuration;
+    return sb.toString().trim();
   }
 }
\ No newline at end of file
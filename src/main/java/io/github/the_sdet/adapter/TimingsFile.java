@@ -0,0 +1,153 @@
+package io.github.the_sdet.adapter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Recorded feature and scenario durations, persisted between runs as a small
+ * tab-separated file.
+ *
+ * <pre>
+ * # cucumber-summary timings v1
+ * F	&lt;feature uri&gt;	&lt;millis&gt;
+ * S	&lt;feature uri&gt;	&lt;scenario name&gt;	&lt;millis&gt;
+ * </pre>
+ *
+ * Saving merges with the existing file: features that ran replace their
+ * previous figures, all others are kept, so a sharded run only refreshes its
+ * own part of the timings.
+ * <p>
+ * Features are keyed portably ({@link #key(String)}): {@code file:} URIs below
+ * the working directory become relative paths, so the file stays valid in
+ * another checkout or CI workspace; {@code classpath:} URIs are kept as they
+ * are.
+ *
+ * @author Pabitra Swain (contact.the.sdet@gmail.com)
+ */
+class TimingsFile {
+
+  private static final String HEADER = "# cucumber-summary timings v1";
+
+  /**
+   * Feature URI → total scenario time in milliseconds.
+   */
+  final Map<String, Long> features = new LinkedHashMap<>();
+
+  /**
+   * Feature URI → (scenario name → time in milliseconds).
+   */
+  final Map<String, Map<String, Long>> scenarios = new LinkedHashMap<>();
+
+  /**
+   * Records one scenario and adds it to its feature total.
+   *
+   * @param featureUri
+   *            feature URI as reported by Cucumber
+   * @param scenario
+   *            scenario display name
+   * @param millis
+   *            scenario duration
+   */
+  void add(String featureUri, String scenario, long millis) {
+    String key = key(featureUri);
+    features.merge(key, millis, Long::sum);
+    scenarios.computeIfAbsent(key, k -> new LinkedHashMap<>()).merge(clean(scenario), millis, Long::sum);
+  }
+
+  /**
+   * Portable key of a feature, also usable as a line of a Cucumber rerun file:
+   * {@code file:} URIs become paths relative to the working directory (absolute
+   * paths outside it), anything else (e.g. {@code classpath:}) is kept as is.
+   *
+   * @param featureUri
+   *            feature URI, or a key already
+   * @return feature key
+   */
+  static String key(String featureUri) {
+    if (!featureUri.startsWith("file:"))
+      return featureUri;
+    Path p;
+    try {
+      p = Paths.get(URI.create(featureUri)).normalize();
+    } catch (IllegalArgumentException ex) {
+      return featureUri;
+    }
+    Path cwd = Paths.get("").toAbsolutePath();
+    return (p.startsWith(cwd) ? cwd.relativize(p) : p).toString().replace('\\', '/');
+  }
+
+  /**
+   * Reads a timings file; a missing file yields empty timings.
+   *
+   * @param file
+   *            timings file
+   * @return parsed timings
+   * @throws IOException
+   *             if the file exists but cannot be read
+   */
+  static TimingsFile read(Path file) throws IOException {
+    TimingsFile t = new TimingsFile();
+    if (!Files.exists(file))
+      return t;
+    try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = in.readLine()) != null) {
+        String[] p = line.split("\t");
+        try {
+          // key() also migrates files written with absolute file: URIs
+          if (p.length == 3 && "F".equals(p[0]))
+            t.features.put(key(p[1]), Long.parseLong(p[2]));
+          else if (p.length == 4 && "S".equals(p[0]))
+            t.scenarios.computeIfAbsent(key(p[1]), k -> new LinkedHashMap<>()).put(p[2], Long.parseLong(p[3]));
+        } catch (NumberFormatException ignored) {
+          // skip malformed lines rather than losing the whole file
+        }
+      }
+    }
+    return t;
+  }
+
+  /**
+   * Merges these timings into the file, replacing features present in this run.
+   *
+   * @param file
+   *            timings file (created with its parent directories if missing)
+   * @throws IOException
+   *             if the file cannot be read or written
+   */
+  void mergeInto(Path file) throws IOException {
+    TimingsFile merged = read(file);
+    merged.features.putAll(features);
+    merged.scenarios.putAll(scenarios);
+
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null)
+      Files.createDirectories(parent);
+    try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      out.write(HEADER);
+      out.newLine();
+      for (Map.Entry<String, Long> f : merged.features.entrySet()) {
+        out.write("F\t" + f.getKey() + "\t" + f.getValue());
+        out.newLine();
+      }
+      for (Map.Entry<String, Map<String, Long>> f : merged.scenarios.entrySet()) {
+        for (Map.Entry<String, Long> sc : f.getValue().entrySet()) {
+          out.write("S\t" + f.getKey() + "\t" + sc.getKey() + "\t" + sc.getValue());
+          out.newLine();
+        }
+      }
+    }
+  }
+
+  private static String clean(String s) {
+    return s.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+  }
+}
@@ -124,7 +124,11 @@ function downloadReportExcel () {
       sheets[sheetName] = XLSX.utils.aoa_to_sheet(summary);
     }
 
+    // Collapsed outline rows only exist as data-runs until expanded
+    table.querySelectorAll("tr.outline-group").forEach(ensureOutlineRows);
     const cleanTable = table.cloneNode(true);
+    cleanTable.querySelectorAll(".attachments, .outline-toggle").forEach(node => node.remove());
+    cleanTable.querySelectorAll("tr.outline-row").forEach(row => row.style.display = "");
     cleanTable.querySelectorAll("tr").forEach(row => {
       row.querySelectorAll("td.hidden, td.hide-in-mobile, th.hidden, th.hide-in-mobile")
          .forEach(cell => cell.remove());
@@ -279,38 +283,216 @@ const config = {
 
 const myChart = new Chart(document.getElementById('myPieChart'), config);
 
+/* ─── Scenario search (index is prebuilt by the reporter) ─────────────── */
+const SEARCH_INDEX = $searchIndex;
+let searchHits = null;       // null → no active search, else Map(featureNo → Set(row) | true)
+let searchNamesLower = null;
+
+function trigrams(s) {
+  const out = new Set();
+  for (let i = 0; i + 3 <= s.length; i++) out.add(s.substring(i, i + 3));
+  return out;
+}
+
+function decodePostings(deltas) {
+  const ids = new Array(deltas.length);
+  let prev = 0;
+  for (let i = 0; i < deltas.length; i++) ids[i] = prev += deltas[i];
+  return ids;
+}
+
+function lookupSearch(query) {
+  const q = query.trim().toLowerCase();
+  if (!q) return null;
+  if (!searchNamesLower) searchNamesLower = SEARCH_INDEX.n.map(n => n.toLowerCase());
+
+  let candidates;
+  if (q.length < 3) {
+    candidates = searchNamesLower.keys();     // too short for trigrams – scan the distinct names
+  } else {
+    const lists = [];
+    for (const g of trigrams(q)) {
+      if (!Object.prototype.hasOwnProperty.call(SEARCH_INDEX.g, g)) return new Map();
+      lists.push(SEARCH_INDEX.g[g]);
+    }
+    lists.sort((a, b) => a.length - b.length);  // intersect smallest posting lists first
+    let current = new Set(decodePostings(lists[0]));
+    for (let i = 1; i < lists.length && current.size; i++) {
+      const next = new Set();
+      decodePostings(lists[i]).forEach(id => { if (current.has(id)) next.add(id); });
+      current = next;
+    }
+    candidates = current;
+  }
+
+  const hits = new Map();
+  for (const id of candidates) {
+    if (!searchNamesLower[id].includes(q)) continue;   // trigrams only narrow it down
+    const refs = SEARCH_INDEX.r[id];
+    for (let i = 0; i < refs.length; i += 2) {
+      const f = refs[i], row = refs[i + 1];
+      if (row < 0) {
+        hits.set(f, true);
+      } else if (hits.get(f) !== true) {
+        if (!hits.has(f)) hits.set(f, new Set());
+        hits.get(f).add(row);
+      }
+    }
+  }
+  return hits;
+}
+
+function applySearch() {
+  const input = document.getElementById("scenarioSearch");
+  searchHits = lookupSearch(input ? input.value : "");
+  filterScenarios();
+}
+
+/* ─── Scenario outline groups ─────────────────────────────────────────── */
+function activeStatuses() {
+  return Array.from(document.querySelectorAll(".status-filter:checked")).map(cb => cb.value);
+}
+
+function rowStatus(row) {
+  const dot = row.querySelector(".circle-tc");
+  if (!dot) return null;
+  return dot.classList.contains("green") ? "green" :
+         dot.classList.contains("red")   ? "red"   :
+         dot.classList.contains("cyan")  ? "cyan"  : "";
+}
+
+// Builds the example rows the reporter left out, from the group's
+// run-length encoded "data-runs" (upper case = row already in the table) and
+// "data-rows": per left-out row its name, or [name, username, password] when
+// its credentials differ from the group's
+function buildOutlineRows(group) {
+  const rows = JSON.parse(group.dataset.rows || "[]");
+  const key = group.cells[0].textContent.trim();
+  const credCell = group.cells[2];
+  const colors = { g: "green", r: "red", c: "cyan" };
+  let anchor = group;
+  let pos = 0;
+  let next = 0;
+
+  group.dataset.runs.split(" ").forEach(run => {
+    const m = /^([grcGRC])(\d+)(?:x(\d+))?$/.exec(run);
+    if (!m) return;
+    const first = Number(m[2]), count = m[3] ? Number(m[3]) : 1;
+    const rendered = m[1] !== m[1].toLowerCase();
+    for (let i = 0; i < count; i++) {
+      pos++;
+      if (rendered) {
+        anchor = anchor.nextElementSibling;
+        continue;
+      }
+      const row = rows[next++];
+      const name = Array.isArray(row) ? row[0] : row;
+      const tr = document.createElement("tr");
+      tr.className = "outline-row generated";
+      tr.style.display = "none";
+      tr.innerHTML = `<td>${key}.${pos}</td><td></td><td class="${credCell.className}"></td>` +
+                     `<td><div class="circle-tc ${colors[m[1]]}"></div></td>`;
+      tr.cells[1].textContent = `${name} (Outline Row: ${first + i})`;
+      if (Array.isArray(row)) {
+        tr.cells[2].append(row[1], document.createElement("br"), row[2]);
+      } else {
+        tr.cells[2].innerHTML = credCell.innerHTML;
+      }
+      anchor.after(tr);
+      anchor = tr;
+    }
+  });
+}
+
+function ensureOutlineRows(group) {
+  if (group.dataset.built) return;
+  buildOutlineRows(group);
+  group.dataset.built = "true";
+}
+
+function toggleOutline(btn) {
+  const group = btn.closest("tr.outline-group");
+  const expand = !group.classList.contains("expanded");
+  if (expand) ensureOutlineRows(group);
+  group.classList.toggle("expanded", expand);
+  btn.innerHTML = expand ? '<i class="fas fa-angle-up"></i>' : '<i class="fas fa-angle-right"></i>';
+
+  const active = activeStatuses();
+  for (let row = group.nextElementSibling; row && row.classList.contains("outline-row");
+       row = row.nextElementSibling) {
+    if (row.classList.contains("generated"))
+      row.style.display = expand && active.includes(rowStatus(row)) ? "" : "none";
+  }
+}
+
 function filterScenarios() {
-  if (!isAllExpanded) toggleAll();
+  if (!isAllExpanded && !searchHits) toggleAll();
 
-  const active = Array.from(document.querySelectorAll(".status-filter:checked"))
-                      .map(cb => cb.value);
+  const active = activeStatuses();
 
   const tables = document.querySelectorAll(".inner-div table.dataTable");
+  let matched = 0;
 
   tables.forEach(table => {
+    const innerDiv  = table.closest(".inner-div");
+    const featureNo = Number(innerDiv.id.substring("inner-div-".length));
+    const hit       = searchHits ? searchHits.get(featureNo) : true;
     let visible = 0;
     const rows = table.querySelectorAll("tr:not(.data-heading)");
+    let item = -1;          // search rows are table items: a scenario or a whole outline group
+    let group = null;       // outline group the following .outline-row rows belong to
 
     rows.forEach(row => {
-      const dot = row.querySelector(".circle-tc");
-      if (!dot) return;
+      const status = rowStatus(row);
+      if (status === null) return;
+
+      if (row.classList.contains("outline-row")) {
+        const show = group !== null && active.includes(status) &&
+                     (!row.classList.contains("generated") || group.classList.contains("expanded"));
+        row.style.display = show ? "" : "none";
+        return;
+      }
 
-      const status = dot.classList.contains("green") ? "green" :
-                     dot.classList.contains("red")   ? "red"   :
-                     dot.classList.contains("cyan")  ? "cyan"  : "";
+      item++;
+      const found = hit === true || (hit !== undefined && hit.has(item));
+      if (row.classList.contains("outline-group")) {
+        // counts are [passed, failed, skipped]; a group matches with its rows of the checked statuses
+        const counts = row.dataset.counts.split(",").map(Number);
+        const n = ["green", "red", "cyan"].reduce((sum, s, i) => sum + (active.includes(s) ? counts[i] : 0), 0);
+        group = found && n > 0 ? row : null;
+        row.style.display = group ? "" : "none";
+        if (group) visible += n;
+        return;
+      }
 
-      const show = active.includes(status);
+      group = null;
+      const show = active.includes(status) && found;
       row.style.display = show ? "" : "none";
       if (show) visible++;
     });
 
     const featureRow = table.closest(".row");
     featureRow.style.display = visible ? "flex" : "none";
+    matched += visible;
+
+    // While searching, open only the features that contain a match
+    if (searchHits) {
+      innerDiv.style.display = visible ? "block" : "none";
+      const arrow = document.getElementById(`arrow-button-${featureNo}`);
+      if (arrow) arrow.innerHTML = visible ? OPEN_ICON : CLOSED_ICON;
+    }
   });
+
+  if (searchHits) syncOverallArrow();
+  const count = document.getElementById("searchCount");
+  if (count) count.textContent = searchHits ? `${matched} match${matched === 1 ? "" : "es"}` : "";
 }
 
 function resetFilter() {
   document.querySelectorAll(".status-filter").forEach(cb => cb.checked = true);
+  const input = document.getElementById("scenarioSearch");
+  if (input) input.value = "";
+  searchHits = null;
   filterScenarios();
   if (isAllExpanded) {
       toggleAll();
@@ -322,6 +504,13 @@ if (bar) bar.addEventListener("change", e => {
   if (e.target.matches(".status-filter")) filterScenarios();
 });
 
+let searchTimer = null;
+const searchInput = document.getElementById("scenarioSearch");
+if (searchInput) searchInput.addEventListener("input", () => {
+  clearTimeout(searchTimer);
+  searchTimer = setTimeout(applySearch, 120);
+});
+
 document.querySelectorAll('.scenario-table').forEach(table => {
   const cols = table.querySelectorAll('col').length;
   table.classList.add(`scenario-table-${cols}`); // scenario-table-3 or -4